@@ -0,0 +1,68 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.ArchiveWriter;
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.Game;
+import iscteiul.ista.battleship.GameArchive;
+import iscteiul.ista.battleship.IPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a memory-mapped archive of games: a scan of every game and a
+ * random access to one
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArchiveBenchmark {
+    private static final int GAMES = 10000;
+
+    private Path file;
+    private GameArchive archive;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("games", ".bsa");
+        try (ArchiveWriter writer = new ArchiveWriter(file)) {
+            for (int n = 0; n < GAMES; n++) {
+                Game game = new Game(Fleets.randomFleet("Fleet", n));
+                for (int cell = n % 3; cell < BoardSpec.DEFAULT.getCells(); cell += 2)
+                    game.fireAt(IPosition.of(BoardSpec.DEFAULT, cell));
+                writer.add(game);
+            }
+        }
+        archive = new GameArchive(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        archive = null;
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Counts the hits of every game of the archive (divide by GAMES for the cost
+     * of a single game)
+     */
+    @Benchmark
+    public long scanHits() {
+        long[] hits = {0};
+        archive.forEach(g -> hits[0] += g.countHits());
+        return hits[0];
+    }
+
+    @Benchmark
+    public int randomAccess() {
+        next = (next + 7919) % GAMES;
+        return archive.get(next).getShotCount();
+    }
+}
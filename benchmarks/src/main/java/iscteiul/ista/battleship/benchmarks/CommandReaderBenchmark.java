@@ -0,0 +1,63 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.CommandReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing a scripted game of many salvos (about 1 MB), with a Scanner
+ * and with a CommandReader
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandReaderBenchmark {
+    private static final String RAJADA = "rajada";
+
+    private byte[] script;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7L);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 1 << 20) {
+            text.append(RAJADA);
+            for (int i = 0; i < 6; i++)
+                text.append(' ').append(random.nextInt(10));
+            text.append('\n');
+        }
+        script = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long scanner() {
+        Scanner in = new Scanner(new ByteArrayInputStream(script));
+        long sum = 0;
+        while (in.hasNext()) {
+            if (in.next().equals(RAJADA))
+                for (int i = 0; i < 6; i++)
+                    sum += in.nextInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long commandReader() {
+        CommandReader in = new CommandReader(new ByteArrayInputStream(script), RAJADA);
+        long sum = 0;
+        while (in.hasNext()) {
+            if (in.next().equals(RAJADA))
+                for (int i = 0; i < 6; i++)
+                    sum += in.nextInt();
+        }
+        return sum;
+    }
+}
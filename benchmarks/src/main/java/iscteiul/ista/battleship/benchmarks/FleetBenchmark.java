@@ -0,0 +1,83 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.Coordinate;
+import iscteiul.ista.battleship.Fleet;
+import iscteiul.ista.battleship.IPosition;
+import iscteiul.ista.battleship.IShip;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a fleet ship by ship, and of looking up the ship at random
+ * cells, on boards of growing size (with BOARD_SIZE ships per BOARD_SIZE rows)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FleetBenchmark {
+
+    @Param({"Fleet", "BitboardFleet"})
+    public String fleetType;
+
+    @Param({"10", "100", "1000"})
+    public int boardSize;
+
+    /**
+     * Cells looked up by each call of shipAt
+     */
+    private static final int LOOKUPS = 100;
+
+    private BoardSpec spec;
+    private List<IShip> layout;
+    private List<IShip> ships;
+    private Fleet fleet;
+    private IPosition[] cells;
+
+    @Setup
+    public void setUp() {
+        spec = Fleets.spec(boardSize);
+        layout = Fleets.randomShips(spec, 17L);
+        fleet = Fleets.randomFleet(fleetType, spec, 17L);
+        SplittableRandom random = new SplittableRandom(17L);
+        cells = new IPosition[LOOKUPS];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = Coordinate.of(random.nextInt(boardSize), random.nextInt(boardSize));
+    }
+
+    /**
+     * A ship belongs to a single fleet, so each call of addShip gets ships of
+     * its own
+     */
+    @Setup(Level.Invocation)
+    public void newShips() {
+        ships = Fleets.copies(layout);
+    }
+
+    /**
+     * Adds a whole fleet (spec.getFleetSize() ships) to an empty fleet
+     */
+    @Benchmark
+    public Fleet addShip() {
+        Fleet f = Fleets.newFleet(fleetType, spec);
+        for (IShip s : ships)
+            f.addShip(s);
+        return f;
+    }
+
+    /**
+     * Looks up LOOKUPS random cells of the board
+     */
+    @Benchmark
+    public void shipAt(Blackhole bh) {
+        for (IPosition p : cells)
+            bh.consume(fleet.shipAt(p));
+    }
+}
@@ -0,0 +1,103 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BitboardFleet;
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.Fleet;
+import iscteiul.ista.battleship.FleetGenerator;
+import iscteiul.ista.battleship.IFleet;
+import iscteiul.ista.battleship.IShip;
+import iscteiul.ista.battleship.ShipType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the benchmarks
+ */
+final class Fleets {
+    private Fleets() {
+    }
+
+    /**
+     * @param side The number of rows and of columns
+     * @return A square board with the standard fleet repeated side / BOARD_SIZE
+     * times
+     */
+    static BoardSpec spec(int side) {
+        ShipType[] standard = BoardSpec.DEFAULT.getComposition();
+        int copies = Math.max(1, side / IFleet.BOARD_SIZE);
+        ShipType[] composition = new ShipType[standard.length * copies];
+        for (int i = 0; i < composition.length; i++)
+            composition[i] = standard[i % standard.length];
+        return BoardSpec.square(side, composition);
+    }
+
+    /**
+     * @param kind "Fleet" or "BitboardFleet"
+     * @return A new, empty fleet of that kind
+     */
+    static Fleet newFleet(String kind) {
+        return newFleet(kind, BoardSpec.DEFAULT);
+    }
+
+    /**
+     * @param kind "Fleet" or "BitboardFleet"
+     * @param spec The board of the fleet
+     * @return A new, empty fleet of that kind
+     */
+    static Fleet newFleet(String kind, BoardSpec spec) {
+        switch (kind) {
+            case "Fleet":
+                return new Fleet(spec);
+            case "BitboardFleet":
+                return new BitboardFleet(spec);
+            default:
+                throw new IllegalArgumentException("ERROR! unknown fleet " + kind);
+        }
+    }
+
+    /**
+     * @param kind The kind of fleet
+     * @param seed The seed of the layout
+     * @return A fleet of that kind with a full random layout
+     */
+    static Fleet randomFleet(String kind, long seed) {
+        return randomFleet(kind, BoardSpec.DEFAULT, seed);
+    }
+
+    /**
+     * @param kind The kind of fleet
+     * @param spec The board and composition of the fleet
+     * @param seed The seed of the layout
+     * @return A fleet of that kind with a full random layout
+     */
+    static Fleet randomFleet(String kind, BoardSpec spec, long seed) {
+        Fleet fleet = newFleet(kind, spec);
+        for (IShip s : randomShips(spec, seed))
+            fleet.addShip(s);
+        return fleet;
+    }
+
+    /**
+     * @param spec The board and composition of the fleet
+     * @param seed The seed of the layout
+     * @return The ships of a full random layout, not yet added to any fleet
+     */
+    static List<IShip> randomShips(BoardSpec spec, long seed) {
+        return copies(new FleetGenerator(spec, seed).nextFleet().getShips());
+    }
+
+    /**
+     * A ship belongs to a single fleet, so a layout is added to another fleet
+     * through copies of its ships
+     *
+     * @param ships Some ships
+     * @return New ships of the same categories, bearings and positions
+     */
+    static List<IShip> copies(List<IShip> ships) {
+        List<IShip> copies = new ArrayList<>(ships.size());
+        for (IShip s : ships)
+            copies.add(ShipType.ofCategory(s.getCategory()).build(s.getBearing(), s.getPosition()));
+        return copies;
+    }
+}
@@ -0,0 +1,104 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.Fleet;
+import iscteiul.ista.battleship.Game;
+import iscteiul.ista.battleship.IPosition;
+import iscteiul.ista.battleship.SalvoResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of firing and of querying the remaining ships
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"Fleet", "BitboardFleet"})
+    public String fleetType;
+
+    @Param({"10", "100", "1000"})
+    public int boardSize;
+
+    private BoardSpec spec;
+    private IPosition[] cells;
+    private long[] wholeBoard;
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        spec = Fleets.spec(boardSize);
+        cells = new IPosition[spec.getCells()];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = IPosition.of(spec.row(i), spec.column(i));
+        wholeBoard = new long[spec.getWords()];
+        for (int i = 0; i < cells.length; i++)
+            wholeBoard[i >>> 6] |= 1L << i;
+        game = new Game(Fleets.randomFleet(fleetType, spec, 23L));
+    }
+
+    /**
+     * A fresh game for each invocation of fireWholeBoard
+     */
+    @State(Scope.Thread)
+    public static class FreshGame {
+        Game game;
+
+        @Setup(Level.Invocation)
+        public void setUp(GameBenchmark benchmark) {
+            Fleet fleet = Fleets.randomFleet(benchmark.fleetType, benchmark.spec, 23L);
+            game = new Game(fleet);
+        }
+    }
+
+    /**
+     * Fires at every cell of the board of a fresh game, so every shot is either a
+     * miss, a hit or a sink (divide by boardSize * boardSize for the cost of a
+     * single shot)
+     */
+    @Benchmark
+    public Game fireWholeBoard(FreshGame fresh) {
+        Game g = fresh.game;
+        for (IPosition p : cells)
+            g.fire(p);
+        return g;
+    }
+
+    /**
+     * Same as fireWholeBoard, as a single salvo of a bitmask with every cell set
+     */
+    @Benchmark
+    public SalvoResult fireWholeBoardSalvo(FreshGame fresh) {
+        return fresh.game.fireSalvo(wholeBoard);
+    }
+
+    /**
+     * Same as fireWholeBoard, as a single salvo of positions
+     */
+    @Benchmark
+    public SalvoResult fireWholeBoardPositions(FreshGame fresh) {
+        return fresh.game.fireSalvo(cells);
+    }
+
+    /**
+     * Fires again at cells already fired at
+     */
+    @Benchmark
+    public void fireRepeated(Blackhole bh) {
+        if (game.getShots().isEmpty())
+            game.fire(cells[0]);
+        bh.consume(game.fire(cells[0]));
+    }
+
+    @Benchmark
+    public int getRemainingShips() {
+        return game.getRemainingShips();
+    }
+}
@@ -0,0 +1,53 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.GameState;
+import iscteiul.ista.battleship.IFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deriving a new immutable GameState from another, i.e. of branching a
+ * game in a search tree
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    @Param({"10", "1000"})
+    public int boardSize;
+
+    private GameState halfway;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BoardSpec spec = Fleets.spec(boardSize);
+        IFleet fleet = Fleets.randomFleet("Fleet", spec, 23L);
+        halfway = GameState.of(fleet);
+        for (int r = 0; r < spec.getHeight(); r += 2)
+            halfway = halfway.fire(r, r % spec.getWidth());
+    }
+
+    /**
+     * One new shot at a cell not fired at before, from a state with some shots
+     */
+    @Benchmark
+    public GameState fireFromHalfway() {
+        int cell = next++ % (boardSize * boardSize);
+        return halfway.fire(cell / boardSize, cell % boardSize);
+    }
+
+    /**
+     * A shot already fired, which shares everything but the counters
+     */
+    @Benchmark
+    public GameState fireRepeated() {
+        return halfway.fire(0, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.Fleet;
+import iscteiul.ista.battleship.Game;
+import iscteiul.ista.battleship.GameJournal;
+import iscteiul.ista.battleship.IPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of journaling games: a whole board fired at in a fresh game, with and
+ * without a journal (divide by BOARD_SIZE * BOARD_SIZE for the cost of a single
+ * shot)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+    private IPosition[] cells;
+    private Path file;
+    private GameJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        cells = new IPosition[BoardSpec.DEFAULT.getCells()];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = IPosition.of(BoardSpec.DEFAULT, i);
+        file = Files.createTempFile("journal", ".bsj");
+        journal = new GameJournal(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.delete(file);
+    }
+
+    /**
+     * A fresh fleet for each invocation
+     */
+    @State(Scope.Thread)
+    public static class FreshFleet {
+        Fleet fleet;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            fleet = Fleets.randomFleet("Fleet", 23L);
+        }
+    }
+
+    @Benchmark
+    public Game fireWholeBoard(FreshFleet fresh) {
+        Game game = new Game(fresh.fleet);
+        for (IPosition p : cells)
+            game.fire(p);
+        return game;
+    }
+
+    @Benchmark
+    public Game fireWholeBoardJournaled(FreshFleet fresh) {
+        Game game = new Game(fresh.fleet, journal);
+        for (IPosition p : cells)
+            game.fire(p);
+        return game;
+    }
+}
@@ -0,0 +1,62 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardRenderer;
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.IPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of printing a board with some shots marked, a character at a time to a
+ * PrintStream (as boards used to be printed) and through a BoardRenderer, both
+ * to a stream that discards what it gets
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    private PrintStream printStream;
+    private BoardRenderer renderer;
+    private List<IPosition> shots;
+
+    @Setup
+    public void setUp() {
+        printStream = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+        renderer = new BoardRenderer(BoardRenderer.streamSink(OutputStream.nullOutputStream(),
+                StandardCharsets.UTF_8));
+        shots = new ArrayList<>();
+        for (int i = 0; i < 100; i += 3)
+            shots.add(IPosition.of(BoardSpec.DEFAULT, i));
+    }
+
+    @Benchmark
+    public void printPerCell() {
+        BoardSpec spec = BoardSpec.DEFAULT;
+        char[][] map = new char[spec.getHeight()][spec.getWidth()];
+        for (int r = 0; r < spec.getHeight(); r++)
+            for (int c = 0; c < spec.getWidth(); c++)
+                map[r][c] = '.';
+        for (IPosition pos : shots)
+            map[pos.getRow()][pos.getColumn()] = 'X';
+        for (int row = 0; row < spec.getHeight(); row++) {
+            for (int col = 0; col < spec.getWidth(); col++)
+                printStream.print(map[row][col]);
+            printStream.println();
+        }
+    }
+
+    @Benchmark
+    public void render() {
+        renderer.renderBoard(BoardSpec.DEFAULT, shots, 'X');
+    }
+}
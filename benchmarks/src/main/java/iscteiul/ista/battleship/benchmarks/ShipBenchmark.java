@@ -0,0 +1,40 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.Compass;
+import iscteiul.ista.battleship.IPosition;
+import iscteiul.ista.battleship.Position;
+import iscteiul.ista.battleship.Ship;
+import iscteiul.ista.battleship.ShipType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a ship of each kind (and so of its positions)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShipBenchmark {
+
+    @Param({"BARGE", "CARAVEL", "CARRACK", "FRIGATE", "GALLEON"})
+    public ShipType type;
+
+    @Param({"NORTH", "EAST"})
+    public Compass bearing;
+
+    private IPosition anchor;
+
+    @Setup
+    public void setUp() {
+        anchor = new Position(3, 3);
+    }
+
+    @Benchmark
+    public Ship construct() {
+        return type.build(bearing, anchor);
+    }
+}
@@ -0,0 +1,60 @@
+package iscteiul.ista.battleship.benchmarks;
+
+import iscteiul.ista.battleship.BoardSpec;
+import iscteiul.ista.battleship.DensityStrategy;
+import iscteiul.ista.battleship.RandomStrategy;
+import iscteiul.ista.battleship.SimulationReport;
+import iscteiul.ista.battleship.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of whole games: random fleet, shots chosen by a strategy until the fleet
+ * is sunk. DensityStrategy counts the placements of every ship left before each
+ * shot, so its games take seconds on 100x100 boards and would never end on
+ * 1000x1000 ones: that combination is rejected by setUp (JMH reports it and
+ * goes on with the others).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+
+    @Param({"RandomStrategy", "DensityStrategy"})
+    public String strategy;
+
+    @Param({"10", "100", "1000"})
+    public int boardSize;
+
+    private Simulator simulator;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        BoardSpec spec = Fleets.spec(boardSize);
+        switch (strategy) {
+            case "RandomStrategy":
+                simulator = new Simulator(spec, seed -> new RandomStrategy(spec, seed), ForkJoinPool.commonPool());
+                break;
+            case "DensityStrategy":
+                if (boardSize > 100)
+                    throw new IllegalArgumentException("ERROR! DensityStrategy games on " + boardSize + "x"
+                            + boardSize + " boards are too long to measure");
+                simulator = new Simulator(spec, seed -> new DensityStrategy(spec, seed), ForkJoinPool.commonPool());
+                break;
+            default:
+                throw new IllegalArgumentException("ERROR! unknown strategy " + strategy);
+        }
+        seed = 0;
+    }
+
+    @Benchmark
+    public SimulationReport fullGame() {
+        return simulator.play(seed++);
+    }
+}
@@ -1,6 +1,7 @@
 package iscteiul.ista;
 
 import iscteiul.ista.battleship.Fleet;
+import iscteiul.ista.battleship.Logging;
 import iscteiul.ista.battleship.Tasks;
 
 /**
@@ -12,6 +13,8 @@ public class App
 {
     public static void main( String[] args )
     {
+        // before any logger exists: scripted runs log asynchronously
+        Logging.configure();
 
         System.out.printf("\n***  Battleship Game ***\n");
 
@@ -0,0 +1,212 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a {@link GameArchive}: a file of many games, each stored as a record
+ * of fixed-width fields that can be read in place once the file is memory
+ * mapped.
+ * <p>
+ * The file starts with a header (magic number, segment shift), followed by the
+ * records of the games, the index (the offset of each record, as longs) and a
+ * trailer (offset of the index, number of games, magic number). The file is
+ * mapped in segments of 1 &lt;&lt; segment shift bytes, so no record may cross
+ * a segment boundary: the writer pads the end of a segment when the next record
+ * would not fit in it. A record holds, as big-endian ints unless stated:
+ * <ul>
+ * <li>height, width, number of ships, number of shots;</li>
+ * <li>for each ShipType, how many ships of that type the board expects;</li>
+ * <li>for each ship, its anchor row and column, and its type and bearing
+ * ordinals as shorts;</li>
+ * <li>the cells occupied by ships, as a bitboard of longs indexed as in
+ * BoardSpec.index;</li>
+ * <li>the valid shots, in order, as cells row * (width + 1) + column.</li>
+ * </ul>
+ */
+public final class ArchiveWriter implements Closeable {
+    /**
+     * "BSA1"
+     */
+    static final int MAGIC = 0x42534131;
+    static final int HEADER = 8;
+    static final int TRAILER = 16;
+    static final int SHIP_BYTES = 12;
+    static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final ShipType[] TYPES = ShipType.values();
+
+    /**
+     * @param ships The number of ships of a game
+     * @param words The number of longs of its bitboard
+     * @param shots The number of valid shots of the game
+     * @return The size of its record
+     */
+    static long recordSize(int ships, int words, int shots) {
+        return 16L + 4L * TYPES.length + (long) SHIP_BYTES * ships + 8L * words + 4L * shots;
+    }
+
+    // -----------------------------------------------------
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long segmentSize;
+
+    /**
+     * Offset of the next byte to write
+     */
+    private long offset;
+    private long[] offsets;
+    private int count;
+
+    /**
+     * Creates an archive, replacing the file if it exists
+     *
+     * @param path The file of the archive
+     * @throws IOException If the file cannot be created
+     */
+    public ArchiveWriter(Path path) throws IOException {
+        this(path, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * @param path         The file of the archive
+     * @param segmentShift The log2 of the size of the segments mapped by the reader
+     * @throws IOException If the file cannot be created
+     */
+    ArchiveWriter(Path path, int segmentShift) throws IOException {
+        if (segmentShift < 10 || segmentShift > 30)
+            throw new IllegalArgumentException("ERROR! invalid segment shift " + segmentShift);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.segmentSize = 1L << segmentShift;
+        offsets = new long[64];
+        count = 0;
+        buffer.putInt(MAGIC);
+        buffer.putInt(segmentShift);
+        offset = HEADER;
+    }
+
+    /**
+     * Adds a game to the archive
+     *
+     * @param game A game, whose fleet was built on its board
+     * @throws IOException If the record cannot be written
+     */
+    public void add(Game game) throws IOException {
+        IFleet fleet = game.getFleet();
+        BoardSpec spec = fleet.getBoardSpec();
+        List<IShip> ships = fleet.getShips();
+        List<IPosition> shots = game.getShots();
+        long size = recordSize(ships.size(), spec.getWords(), shots.size());
+        if (size > segmentSize)
+            throw new IllegalArgumentException("ERROR! game too large for the archive (" + size + " bytes)");
+
+        long left = segmentSize - (offset & (segmentSize - 1));
+        if (size > left)
+            pad(left);
+        if (count == offsets.length)
+            offsets = Arrays.copyOf(offsets, 2 * count);
+        offsets[count++] = offset;
+
+        reserve(16 + 4 * TYPES.length);
+        buffer.putInt(spec.getHeight());
+        buffer.putInt(spec.getWidth());
+        buffer.putInt(ships.size());
+        buffer.putInt(shots.size());
+        for (ShipType type : TYPES)
+            buffer.putInt(spec.count(type));
+
+        long[] occupied = new long[spec.getWords()];
+        for (IShip s : ships) {
+            ShipType type = ShipType.ofCategory(s.getCategory());
+            if (type == null)
+                throw new IllegalArgumentException("ERROR! unknown ship category " + s.getCategory());
+            reserve(SHIP_BYTES);
+            buffer.putInt(s.getPosition().getRow());
+            buffer.putInt(s.getPosition().getColumn());
+            buffer.putShort((short) type.ordinal());
+            buffer.putShort((short) s.getBearing().ordinal());
+            for (IPosition p : s.getPositions())
+                if (spec.isInside(p.getRow(), p.getColumn())) {
+                    int cell = spec.index(p.getRow(), p.getColumn());
+                    occupied[cell >>> 6] |= 1L << cell;
+                }
+        }
+        for (long word : occupied) {
+            reserve(Long.BYTES);
+            buffer.putLong(word);
+        }
+
+        int gridWidth = spec.getWidth() + 1;
+        for (IPosition shot : shots) {
+            reserve(Integer.BYTES);
+            buffer.putInt(shot.getRow() * gridWidth + shot.getColumn());
+        }
+        offset += size;
+    }
+
+    /**
+     * @return The number of games added so far
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes the index and the trailer, and closes the file
+     *
+     * @throws IOException If they cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+        try {
+            pad((Long.BYTES - (offset & (Long.BYTES - 1))) & (Long.BYTES - 1));
+            long index = offset;
+            for (int i = 0; i < count; i++) {
+                reserve(Long.BYTES);
+                buffer.putLong(offsets[i]);
+            }
+            reserve(TRAILER);
+            buffer.putLong(index);
+            buffer.putInt(count);
+            buffer.putInt(MAGIC);
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void pad(long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            reserve(1);
+            buffer.put((byte) 0);
+        }
+        offset += bytes;
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
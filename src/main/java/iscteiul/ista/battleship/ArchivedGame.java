@@ -0,0 +1,169 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of a game of a {@link GameArchive}, read in place from the mapped file
+ * (see {@link ArchiveWriter} for the layout of a record). Nothing is copied or
+ * allocated by the getters; {@link #replay()} builds a full Game when one is
+ * needed.
+ */
+public final class ArchivedGame {
+    private static final ShipType[] TYPES = ShipType.values();
+    private static final Compass[] BEARINGS = Compass.values();
+
+    private ByteBuffer segment;
+    private int base;
+    private int width;
+    private int ships;
+    private int shots;
+    private int board;
+    private int shotsAt;
+
+    ArchivedGame() {
+    }
+
+    /**
+     * Moves this view to the record at an offset of a segment
+     */
+    void moveTo(ByteBuffer segment, int base) {
+        this.segment = segment;
+        this.base = base;
+        int height = segment.getInt(base);
+        width = segment.getInt(base + 4);
+        ships = segment.getInt(base + 8);
+        shots = segment.getInt(base + 12);
+        board = base + 16 + 4 * TYPES.length + ArchiveWriter.SHIP_BYTES * ships;
+        shotsAt = board + Long.BYTES * (int) (((long) height * width + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    public int getHeight() {
+        return segment.getInt(base);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The board of the game (a new spec on each call)
+     */
+    public BoardSpec getBoardSpec() {
+        int n = 0;
+        for (int t = 0; t < TYPES.length; t++)
+            n += segment.getInt(base + 16 + 4 * t);
+        ShipType[] composition = new ShipType[n];
+        n = 0;
+        for (int t = 0; t < TYPES.length; t++)
+            for (int k = segment.getInt(base + 16 + 4 * t); k > 0; k--)
+                composition[n++] = TYPES[t];
+        return new BoardSpec(getHeight(), width, composition);
+    }
+
+    public int getShipCount() {
+        return ships;
+    }
+
+    private int ship(int i) {
+        if (i < 0 || i >= ships)
+            throw new IndexOutOfBoundsException("ERROR! invalid ship " + i);
+        return base + 16 + 4 * TYPES.length + ArchiveWriter.SHIP_BYTES * i;
+    }
+
+    public ShipType getShipType(int i) {
+        return TYPES[segment.getShort(ship(i) + 8)];
+    }
+
+    public Compass getShipBearing(int i) {
+        return BEARINGS[segment.getShort(ship(i) + 10)];
+    }
+
+    /**
+     * @param i The number of a ship
+     * @return The row of the anchor position of that ship
+     */
+    public int getShipRow(int i) {
+        return segment.getInt(ship(i));
+    }
+
+    /**
+     * @param i The number of a ship
+     * @return The column of the anchor position of that ship
+     */
+    public int getShipColumn(int i) {
+        return segment.getInt(ship(i) + 4);
+    }
+
+    /**
+     * @param word The number of a long of the bitboard of occupied cells
+     * @return That long, with a bit per cell indexed as in BoardSpec.index
+     */
+    public long getOccupiedWord(int word) {
+        if (word < 0 || board + Long.BYTES * word >= shotsAt)
+            throw new IndexOutOfBoundsException("ERROR! invalid word " + word);
+        return segment.getLong(board + Long.BYTES * word);
+    }
+
+    /**
+     * @param row    The row of a cell
+     * @param column The column of a cell
+     * @return true if a ship occupies the cell
+     */
+    public boolean isOccupied(int row, int column) {
+        if (row < 0 || row >= getHeight() || column < 0 || column >= width)
+            return false;
+        int cell = row * width + column;
+        return (segment.getLong(board + Long.BYTES * (cell >>> 6)) & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return The number of valid shots of the game
+     */
+    public int getShotCount() {
+        return shots;
+    }
+
+    private int shot(int i) {
+        if (i < 0 || i >= shots)
+            throw new IndexOutOfBoundsException("ERROR! invalid shot " + i);
+        return segment.getInt(shotsAt + Integer.BYTES * i);
+    }
+
+    public int getShotRow(int i) {
+        return shot(i) / (width + 1);
+    }
+
+    public int getShotColumn(int i) {
+        return shot(i) % (width + 1);
+    }
+
+    /**
+     * @return The number of valid shots that hit a ship
+     */
+    public int countHits() {
+        int hits = 0;
+        for (int i = 0; i < shots; i++) {
+            int cell = segment.getInt(shotsAt + Integer.BYTES * i);
+            if (isOccupied(cell / (width + 1), cell % (width + 1)))
+                hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * @return A new game against the fleet of this one, with its shots fired
+     */
+    public Game replay() {
+        Fleet fleet = new Fleet(getBoardSpec());
+        for (int i = 0; i < ships; i++)
+            if (!fleet.addShip(getShipType(i).build(getShipBearing(i), new Position(getShipRow(i), getShipColumn(i)))))
+                throw new IllegalStateException("ERROR! ship " + i + " does not fit in the fleet");
+        Game game = new Game(fleet);
+        for (int i = 0; i < shots; i++)
+            game.fireAt(IPosition.of(getShotRow(i), getShotColumn(i)));
+        return game;
+    }
+}
@@ -13,7 +13,7 @@ public class Barge extends Ship {
      */
     public Barge(Compass bearing, IPosition pos) {
         super(Barge.NAME, bearing, pos);
-        getPositions().add(new Position(pos.getRow(), pos.getColumn()));
+        fillShape(ShipType.BARGE, Compass.NORTH);
     }
 
     @Override
@@ -0,0 +1,143 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * A fleet that, besides the list of ships, keeps a packed bitboard of the
+ * occupied cells and a cell to ship index. This turns {@link #shipAt(IPosition)}
+ * into a single array lookup instead of a scan over every position of every ship.
+ * <p>
+ * On boards of up to {@link #DENSE_LIMIT} cells the index is an array with an
+ * entry per cell; on larger boards it is a {@link CellIndex}, whose size depends
+ * only on the number of occupied cells.
+ */
+public class BitboardFleet extends Fleet {
+    /**
+     * Largest number of cells for which the cell to ship index is a plain array
+     */
+    static final int DENSE_LIMIT = 1 << 16;
+
+    /**
+     * One bit per cell, cell index being BoardSpec.index(row, column)
+     */
+    private final long[] occupied;
+
+    /**
+     * For each cell, the index of the ship occupying it (null on large boards)
+     */
+    private final short[] shipIds;
+
+    /**
+     * The index of the ship occupying each occupied cell (null on small boards)
+     */
+    private final CellIndex sparseIds;
+
+    public BitboardFleet() {
+        this(BoardSpec.DEFAULT);
+    }
+
+    /**
+     * @param spec The board where the ships are placed
+     */
+    public BitboardFleet(BoardSpec spec) {
+        super(spec);
+        occupied = new long[spec.getWords()];
+        if (spec.getCells() <= DENSE_LIMIT) {
+            shipIds = new short[spec.getCells()];
+            sparseIds = null;
+        } else {
+            shipIds = null;
+            sparseIds = new CellIndex();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.Fleet#addShip(battleship.IShip)
+     */
+    @Override
+    public boolean addShip(IShip s) {
+        boolean result = super.addShip(s);
+        if (result) {
+            BoardSpec spec = getBoardSpec();
+            int id = getShips().size() - 1;
+            for (IPosition p : s.getPositions()) {
+                int cell = spec.index(p.getRow(), p.getColumn());
+                occupied[cell >>> 6] |= 1L << cell;
+                if (shipIds != null)
+                    shipIds[cell] = (short) id;
+                else
+                    sparseIds.put(cell, id);
+            }
+        }
+        return result;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IFleet#shipAt(battleship.IPosition)
+     */
+    @Override
+    public IShip shipAt(IPosition pos) {
+        return shipAt(pos.getRow(), pos.getColumn());
+    }
+
+    /**
+     * This operation returns the ship occupying a given cell, without allocating
+     *
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return The ship at that cell, or null if there is only water (or the cell
+     * is outside the board)
+     */
+    public IShip shipAt(int row, int column) {
+        int index = shipIndexAt(row, column);
+        return index < 0 ? null : getShips().get(index);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.Fleet#shipIndexAt(battleship.IPosition)
+     */
+    @Override
+    public int shipIndexAt(IPosition pos) {
+        return shipIndexAt(pos.getRow(), pos.getColumn());
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return The index in getShips() of the ship at that cell, or -1 if there is
+     * none
+     */
+    public int shipIndexAt(int row, int column) {
+        if (!isOccupied(row, column))
+            return -1;
+        int cell = getBoardSpec().index(row, column);
+        return shipIds != null ? Short.toUnsignedInt(shipIds[cell]) : sparseIds.get(cell);
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return true if some ship of this fleet occupies the cell
+     */
+    public boolean isOccupied(int row, int column) {
+        BoardSpec spec = getBoardSpec();
+        if (!spec.isInside(row, column))
+            return false;
+        int cell = spec.index(row, column);
+        return (occupied[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return A copy of the occupancy bitboard (bit BoardSpec.index(row, column))
+     */
+    public long[] getOccupancy() {
+        return occupied.clone();
+    }
+}
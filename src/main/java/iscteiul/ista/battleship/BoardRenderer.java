@@ -0,0 +1,197 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+
+/**
+ * Renders boards and lists of ships as text, each into a reusable buffer that
+ * is handed to a {@link Sink} in a single write, instead of printing it a cell
+ * or a line at a time. A renderer keeps its buffers between calls, so it is not
+ * thread-safe: {@link #stdout()} gives each thread a renderer of its own.
+ */
+public final class BoardRenderer {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private static final ThreadLocal<BoardRenderer> STDOUT =
+            ThreadLocal.withInitial(() -> new BoardRenderer(stdoutSink()));
+
+    /**
+     * Where rendered text goes
+     */
+    @FunctionalInterface
+    public interface Sink extends Closeable {
+        /**
+         * @param text The text to write, only valid during the call (its buffer is
+         *             reused for the next one)
+         */
+        void write(CharSequence text);
+
+        /**
+         * Releases the resources of the sink, if it has any
+         */
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * @return A sink writing to the current System.out
+     */
+    public static Sink stdoutSink() {
+        return text -> System.out.append(text).flush();
+    }
+
+    /**
+     * @param logger A logger
+     * @param marker The marker of the messages
+     * @return A sink logging each text as a single message with the marker, at
+     *         level INFO, as it is (with its line separators), so that the
+     *         layout of the log may print it as it was rendered
+     */
+    public static Sink logSink(Logger logger, Marker marker) {
+        return text -> logger.info(marker, text);
+    }
+
+    /**
+     * @param out     A stream, closed with the sink
+     * @param charset The encoding of the text
+     * @return A sink writing each text to the stream in a single write
+     */
+    public static Sink streamSink(OutputStream out, Charset charset) {
+        return new StreamSink(out, charset);
+    }
+
+    /**
+     * @param path A file, created if needed, to which the text is appended
+     * @return A sink writing to the file in UTF-8, which must be closed
+     * @throws IOException If the file cannot be opened
+     */
+    public static Sink fileSink(Path path) throws IOException {
+        return streamSink(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The renderer of the current thread writing to System.out
+     */
+    public static BoardRenderer stdout() {
+        return STDOUT.get();
+    }
+
+    /**
+     * Encodes into a reusable array of bytes (directly when the text is ASCII)
+     */
+    private static final class StreamSink implements Sink {
+        private final OutputStream out;
+        private final Charset charset;
+        private byte[] bytes;
+
+        private StreamSink(OutputStream out, Charset charset) {
+            this.out = out;
+            this.charset = charset;
+            this.bytes = new byte[256];
+        }
+
+        @Override
+        public void write(CharSequence text) {
+            try {
+                int n = text.length();
+                if (bytes.length < n)
+                    bytes = new byte[Math.max(n, 2 * bytes.length)];
+                int i = 0;
+                while (i < n && text.charAt(i) < 0x80) {
+                    bytes[i] = (byte) text.charAt(i);
+                    i++;
+                }
+                if (i == n) {
+                    out.write(bytes, 0, n);
+                } else {
+                    out.write(bytes, 0, i);
+                    out.write(text.subSequence(i, n).toString().getBytes(charset));
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    // -----------------------------------------------------
+
+    private final Sink sink;
+    private final StringBuilder text;
+    private char[] map;
+
+    /**
+     * @param sink Where the rendered text goes
+     */
+    public BoardRenderer(Sink sink) {
+        this.sink = sink;
+        this.text = new StringBuilder(256);
+        this.map = new char[0];
+    }
+
+    /**
+     * @return Where the rendered text goes
+     */
+    public Sink getSink() {
+        return sink;
+    }
+
+    /**
+     * Renders a board with the given positions marked, a line per row
+     *
+     * @param spec      The board
+     * @param positions The positions to mark (those outside the board are left out)
+     * @param marker    The character marking them
+     */
+    public void renderBoard(BoardSpec spec, List<IPosition> positions, char marker) {
+        int height = spec.getHeight();
+        int width = spec.getWidth();
+        if (map.length < spec.getCells())
+            map = new char[spec.getCells()];
+        Arrays.fill(map, 0, spec.getCells(), '.');
+        for (IPosition pos : positions)
+            if (spec.isInside(pos.getRow(), pos.getColumn()))
+                map[spec.index(pos.getRow(), pos.getColumn())] = marker;
+
+        text.setLength(0);
+        for (int row = 0; row < height; row++)
+            text.append(map, row * width, width).append(NEWLINE);
+        sink.write(text);
+    }
+
+    /**
+     * Renders ships, a line per ship (nothing at all if there are none)
+     *
+     * @param ships The ships
+     */
+    public void renderShips(List<IShip> ships) {
+        if (ships.isEmpty())
+            return;
+        text.setLength(0);
+        for (IShip ship : ships)
+            text.append(ship).append(NEWLINE);
+        sink.write(text);
+    }
+}
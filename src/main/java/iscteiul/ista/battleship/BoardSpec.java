@@ -0,0 +1,169 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The dimensions of a board and the composition of the fleet placed on it.
+ * Cells are identified by their packed index, row * width + column.
+ */
+public final class BoardSpec {
+    /**
+     * Largest number of rows or columns: rows and columns must fit in a short for
+     * {@link IPosition#hash(int, int)} to stay a perfect hash
+     */
+    public static final int MAX_SIDE = Short.MAX_VALUE;
+
+    /**
+     * The standard fleet: 1 galleon, 1 frigate, 2 carracks, 3 caravels and 3 barges
+     */
+    private static final ShipType[] DEFAULT_COMPOSITION = {
+            ShipType.GALLEON, ShipType.FRIGATE, ShipType.CARRACK, ShipType.CARRACK, ShipType.CARAVEL,
+            ShipType.CARAVEL, ShipType.CARAVEL, ShipType.BARGE, ShipType.BARGE, ShipType.BARGE
+    };
+
+    /**
+     * The standard BOARD_SIZE x BOARD_SIZE board with the standard fleet of
+     * FLEET_SIZE ships
+     */
+    public static final BoardSpec DEFAULT = new BoardSpec(IFleet.BOARD_SIZE, IFleet.BOARD_SIZE, DEFAULT_COMPOSITION);
+
+    /**
+     * @param side        The number of rows and of columns
+     * @param composition The types of the ships of the fleet
+     * @return The spec of a square board
+     */
+    public static BoardSpec square(int side, ShipType... composition) {
+        return new BoardSpec(side, side, composition);
+    }
+
+    // -----------------------------------------------------
+
+    private final int height;
+    private final int width;
+    private final ShipType[] composition;
+
+    /**
+     * @param height      The number of rows
+     * @param width       The number of columns
+     * @param composition The types of the ships of the fleet
+     */
+    public BoardSpec(int height, int width, ShipType... composition) {
+        if (height < 1 || height > MAX_SIDE || width < 1 || width > MAX_SIDE)
+            throw new IllegalArgumentException("ERROR! invalid board dimensions " + height + "x" + width);
+        if ((long) height * width > Integer.MAX_VALUE / 2)
+            throw new IllegalArgumentException("ERROR! board too large " + height + "x" + width);
+        if (composition.length == 0)
+            throw new IllegalArgumentException("ERROR! a fleet needs at least one ship");
+
+        this.height = height;
+        this.width = width;
+        this.composition = composition.clone();
+        Arrays.sort(this.composition, Comparator.comparingInt(ShipType::getSize).reversed());
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The number of cells of the board
+     */
+    public int getCells() {
+        return height * width;
+    }
+
+    /**
+     * @return The number of ships of a complete fleet
+     */
+    public int getFleetSize() {
+        return composition.length;
+    }
+
+    /**
+     * @return The types of the ships of the fleet, from the largest to the smallest
+     */
+    public ShipType[] getComposition() {
+        return composition.clone();
+    }
+
+    /**
+     * @param type A type of ship
+     * @return How many ships of that type the fleet has
+     */
+    public int count(ShipType type) {
+        int count = 0;
+        for (ShipType t : composition)
+            if (t == type)
+                count++;
+        return count;
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return true if the cell lies inside the board
+     */
+    public boolean isInside(int row, int column) {
+        return row >= 0 && row < height && column >= 0 && column < width;
+    }
+
+    /**
+     * @param row    The row of a cell inside the board
+     * @param column The column of a cell inside the board
+     * @return The packed index of the cell
+     */
+    public int index(int row, int column) {
+        return row * width + column;
+    }
+
+    /**
+     * @param index The packed index of a cell
+     * @return The row of the cell
+     */
+    public int row(int index) {
+        return index / width;
+    }
+
+    /**
+     * @param index The packed index of a cell
+     * @return The column of the cell
+     */
+    public int column(int index) {
+        return index % width;
+    }
+
+    /**
+     * @return The number of longs of a bitmask with a bit per cell
+     */
+    public int getWords() {
+        return (getCells() + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof BoardSpec))
+            return false;
+        BoardSpec spec = (BoardSpec) other;
+        return height == spec.height && width == spec.width && Arrays.equals(composition, spec.composition);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * height + width) + Arrays.hashCode(composition);
+    }
+
+    @Override
+    public String toString() {
+        return height + "x" + width + " " + Arrays.toString(composition);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.List;
+
+/**
+ * The smallest rectangle of the board holding every position of a ship
+ *
+ * @param top    The topmost row
+ * @param bottom The bottommost row
+ * @param left   The leftmost column
+ * @param right  The rightmost column
+ */
+public record BoundingBox(int top, int bottom, int left, int right) {
+
+    /**
+     * @param positions The positions to enclose
+     * @return The bounding box of the given positions
+     * @throws IndexOutOfBoundsException if there are no positions
+     */
+    static BoundingBox of(List<IPosition> positions) {
+        IPosition first = positions.get(0);
+        int top = first.getRow();
+        int bottom = top;
+        int left = first.getColumn();
+        int right = left;
+        for (int i = 1; i < positions.size(); i++) {
+            IPosition p = positions.get(i);
+            top = Math.min(top, p.getRow());
+            bottom = Math.max(bottom, p.getRow());
+            left = Math.min(left, p.getColumn());
+            right = Math.max(right, p.getColumn());
+        }
+        return new BoundingBox(top, bottom, left, right);
+    }
+
+    /**
+     * @param rows    The number of rows of the board
+     * @param columns The number of columns of the board
+     * @return true if the box lies entirely inside the board
+     */
+    public boolean isInside(int rows, int columns) {
+        return top >= 0 && bottom <= rows - 1 && left >= 0 && right <= columns - 1;
+    }
+
+    /**
+     * @param other Another bounding box
+     * @return true if the boxes overlap or are adjacent (diagonals included), which
+     * is necessary (but not sufficient) for the ships they enclose to be too close
+     */
+    public boolean touches(BoundingBox other) {
+        return top - 1 <= other.bottom && other.top <= bottom + 1
+                && left - 1 <= other.right && other.left <= right + 1;
+    }
+}
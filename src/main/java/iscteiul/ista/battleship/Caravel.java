@@ -17,21 +17,9 @@ public class Caravel extends Ship {
         if (bearing == null)
             throw new NullPointerException("ERROR! invalid bearing for the caravel");
 
-        switch (bearing) {
-            case NORTH:
-            case SOUTH:
-                for (int r = 0; r < SIZE; r++)
-                    getPositions().add(new Position(pos.getRow() + r, pos.getColumn()));
-                break;
-            case EAST:
-            case WEST:
-                for (int c = 0; c < SIZE; c++)
-                    getPositions().add(new Position(pos.getRow(), pos.getColumn() + c));
-                break;
-            default:
-                throw new IllegalArgumentException("ERROR! invalid bearing for the caravel");
-        }
-
+        if (!ShapeTable.hasShape(ShipType.CARAVEL, bearing))
+            throw new IllegalArgumentException("ERROR! invalid bearing for the caravel");
+        fillShape(ShipType.CARAVEL, bearing);
     }
 
     /*
@@ -0,0 +1,78 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+
+/**
+ * A map from cell indexes to non-negative ints, with open addressing and linear
+ * probing over primitive arrays (no boxing). It is used instead of an array with
+ * an entry per cell when the board is too large for that, so its size depends
+ * on the number of cells stored rather than on the size of the board.
+ */
+final class CellIndex {
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    CellIndex() {
+        keys = new int[16];
+        values = new int[16];
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * @param cell  A cell index (non-negative)
+     * @param value The value to associate to the cell
+     */
+    void put(int cell, int value) {
+        if (2 * (size + 1) > keys.length)
+            grow();
+        int slot = find(keys, cell);
+        if (keys[slot] == FREE) {
+            keys[slot] = cell;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @param cell A cell index
+     * @return The value associated to the cell, or -1 if there is none
+     */
+    int get(int cell) {
+        int slot = find(keys, cell);
+        return keys[slot] == FREE ? -1 : values[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int find(int[] keys, int cell) {
+        int mask = keys.length - 1;
+        int hash = cell * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != FREE && keys[slot] != cell)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != FREE) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+    }
+}
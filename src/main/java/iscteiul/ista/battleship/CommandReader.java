@@ -0,0 +1,201 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the commands of the user into whitespace-separated tokens, as a
+ * Scanner with its default delimiter would, but without regular expressions:
+ * bytes are read in blocks into a buffer of its own, ints are parsed straight
+ * from the bytes, and tokens equal to one of a few keywords are returned as
+ * that keyword, so reading commands, ship kinds and coordinates allocates
+ * nothing.
+ * <p>
+ * Like a Scanner, next and nextInt throw NoSuchElementException at the end of
+ * the input, and nextInt throws InputMismatchException, leaving the token to
+ * be read again, when the token is not an int. Whitespace is ASCII whitespace,
+ * input is UTF-8, and ints are plain decimal (with an optional sign).
+ */
+public final class CommandReader {
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    private final byte[][] keywordBytes;
+    private final String[] keywords;
+
+    /**
+     * The last token read, when it has not been consumed yet
+     */
+    private byte[] token;
+    private int tokenLength;
+    private boolean pending;
+
+    /**
+     * @param in       The input to read from
+     * @param keywords Words returned as these very strings by next
+     */
+    public CommandReader(InputStream in, String... keywords) {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.position = 0;
+        this.limit = 0;
+        this.keywords = keywords.clone();
+        this.keywordBytes = new byte[keywords.length][];
+        for (int i = 0; i < keywords.length; i++)
+            keywordBytes[i] = keywords[i].getBytes(StandardCharsets.UTF_8);
+        this.token = new byte[64];
+        this.pending = false;
+    }
+
+    /**
+     * @param channel  The input to read from
+     * @param keywords Words returned as these very strings by next
+     */
+    public CommandReader(ReadableByteChannel channel, String... keywords) {
+        this(Channels.newInputStream(channel), keywords);
+    }
+
+    /**
+     * @return true if there is another token in the input
+     */
+    public boolean hasNext() {
+        return pending || readToken();
+    }
+
+    /**
+     * @return The next token
+     * @throws NoSuchElementException If there are no more tokens
+     */
+    public String next() {
+        String next = peek();
+        pending = false;
+        return next;
+    }
+
+    /**
+     * @return The next token, which is left to be read again
+     * @throws NoSuchElementException If there are no more tokens
+     */
+    public String peek() {
+        fetch();
+        for (int i = 0; i < keywords.length; i++)
+            if (Arrays.equals(keywordBytes[i], 0, keywordBytes[i].length, token, 0, tokenLength))
+                return keywords[i];
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The first character of the next token
+     * @throws NoSuchElementException If there are no more tokens
+     */
+    public char nextChar() {
+        fetch();
+        if (token[0] >= 0) {
+            pending = false;
+            return (char) token[0];
+        }
+        return next().charAt(0);
+    }
+
+    /**
+     * @return The next token, as an int
+     * @throws NoSuchElementException If there are no more tokens
+     * @throws InputMismatchException If the token is not an int (it is then
+     *                                left to be read again)
+     */
+    public int nextInt() {
+        fetch();
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+        if (i == tokenLength)
+            throw mismatch();
+        long value = 0;
+        for (; i < tokenLength; i++) {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9)
+                throw mismatch();
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L)
+                throw mismatch();
+        }
+        if (negative)
+            value = -value;
+        if (value > Integer.MAX_VALUE)
+            throw mismatch();
+        pending = false;
+        return (int) value;
+    }
+
+    private InputMismatchException mismatch() {
+        return new InputMismatchException(
+                "ERROR! not an int: " + new String(token, 0, tokenLength, StandardCharsets.UTF_8));
+    }
+
+    private void fetch() {
+        if (!pending && !readToken())
+            throw new NoSuchElementException("ERROR! no more input");
+    }
+
+    /**
+     * Reads the next token into token, if there is one
+     *
+     * @return true if a token was read (and is now pending)
+     */
+    private boolean readToken() {
+        int b;
+        do {
+            b = read();
+        } while (b >= 0 && isWhitespace(b));
+        if (b < 0)
+            return false;
+        tokenLength = 0;
+        do {
+            if (tokenLength == token.length)
+                token = Arrays.copyOf(token, 2 * tokenLength);
+            token[tokenLength++] = (byte) b;
+            b = read();
+        } while (b >= 0 && !isWhitespace(b));
+        pending = true;
+        return true;
+    }
+
+    private int read() {
+        if (position == limit) {
+            try {
+                int n;
+                do {
+                    n = in.read(buffer, 0, buffer.length);
+                } while (n == 0);
+                if (n < 0)
+                    return -1;
+                position = 0;
+                limit = n;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A game that any number of threads may fire at and read concurrently, with the
+ * same rules as {@link Game}.
+ * <ul>
+ * <li>Each cell is claimed by an atomic OR on a shared bitset, so exactly one
+ * of several simultaneous shots at a cell is valid and the others are
+ * repeated.</li>
+ * <li>Counters are {@link LongAdder}s, so concurrent shooters do not contend on
+ * a single word.</li>
+ * <li>A ship is shot while holding its monitor, so its damage and its fleet's
+ * count of floating ships stay exact.</li>
+ * <li>Shots take no lock: they only count themselves as started and finished,
+ * after an optimistic read of a {@link StampedLock} checks that no snapshot is
+ * being taken. {@link #snapshot()} takes the write side of the lock, which
+ * holds new shots back, and waits for the shots already started to finish, so
+ * a snapshot never sees a shot half resolved.</li>
+ * </ul>
+ * Shots are resolved by the same {@link ShotResolution} rules as in
+ * {@link Game}.
+ * The individual getters read without locking and may be mutually inconsistent
+ * while shots are being fired: use {@link #snapshot()} when that matters.
+ */
+public class ConcurrentGame implements IGame {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final IFleet fleet;
+    private final BoardSpec spec;
+
+    /**
+     * Width of the grid of cells accepted by ShotResolution.isValid (0..width
+     * inclusive)
+     */
+    private final int gridWidth;
+
+    /**
+     * One bit per cell of the grid, set when the cell is fired at
+     */
+    private final long[] fired;
+
+    private final ConcurrentLinkedQueue<IPosition> shots;
+    private final LongAdder countInvalidShots;
+    private final LongAdder countRepeatedShots;
+    private final LongAdder countHits;
+    private final LongAdder countSinks;
+    private final LongAdder started;
+    private final LongAdder finished;
+    private final StampedLock lock;
+
+    /**
+     * Fires the shots of salvos
+     */
+    private final ShotResolution.Shooter shooter = this::shoot;
+
+    /**
+     * @param fleet The fleet to fire at, which must not change during the game
+     */
+    public ConcurrentGame(IFleet fleet) {
+        this.fleet = fleet;
+        this.spec = fleet.getBoardSpec();
+        this.gridWidth = ShotResolution.gridWidth(spec);
+        this.fired = new long[(ShotResolution.gridCells(spec) + Long.SIZE - 1) / Long.SIZE];
+        this.shots = new ConcurrentLinkedQueue<>();
+        this.countInvalidShots = new LongAdder();
+        this.countRepeatedShots = new LongAdder();
+        this.countHits = new LongAdder();
+        this.countSinks = new LongAdder();
+        this.started = new LongAdder();
+        this.finished = new LongAdder();
+        this.lock = new StampedLock();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fire(battleship.IPosition)
+     */
+    @Override
+    public IShip fire(IPosition pos) {
+        int code = fireAt(pos);
+        if (ShotOutcome.of(code) != ShotOutcome.SUNK)
+            return null;
+        return fleet.getShips().get(ShotOutcome.shipIndex(code));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireAt(battleship.IPosition)
+     */
+    @Override
+    public int fireAt(IPosition pos) {
+        enter();
+        try {
+            return shoot(pos);
+        } finally {
+            finished.increment();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireSalvo(battleship.IPosition[])
+     */
+    @Override
+    public SalvoResult fireSalvo(IPosition... salvo) {
+        enter();
+        try {
+            return ShotResolution.fire(shooter, salvo);
+        } finally {
+            finished.increment();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireSalvo(long[])
+     */
+    @Override
+    public SalvoResult fireSalvo(long[] cellMask) {
+        enter();
+        try {
+            return ShotResolution.fire(shooter, spec, cellMask);
+        } finally {
+            finished.increment();
+        }
+    }
+
+    /**
+     * Counts a shot (or salvo) as started, once no snapshot is being taken. The
+     * shot is counted before the lock is checked, so that a snapshot that takes
+     * the lock afterwards waits for it.
+     */
+    private void enter() {
+        while (true) {
+            started.increment();
+            if (lock.tryOptimisticRead() != 0)
+                return;
+            // a snapshot is being taken: back off until it is over
+            finished.increment();
+            lock.unlockRead(lock.readLock());
+        }
+    }
+
+    /**
+     * Resolves a shot and counts it
+     *
+     * @return The code of the outcome of the shot
+     */
+    private int shoot(IPosition pos) {
+        if (!ShotResolution.isValid(spec, pos)) {
+            countInvalidShots.increment();
+            return ShotOutcome.INVALID.code();
+        }
+        int cell = ShotResolution.cellOf(gridWidth, pos);
+        long bit = 1L << cell;
+        if (((long) WORDS.getAndBitwiseOr(fired, cell >>> 6, bit) & bit) != 0) {
+            countRepeatedShots.increment();
+            return ShotOutcome.REPEATED.code();
+        }
+        shots.add(pos);
+
+        IShip s = fleet.shipAt(pos);
+        if (s == null)
+            return ShotOutcome.MISS.code();
+        int code;
+        synchronized (s) {
+            code = ShotResolution.hit(fleet, s, pos);
+        }
+        countHits.increment();
+        if (ShotOutcome.of(code) == ShotOutcome.SUNK)
+            countSinks.increment();
+        return code;
+    }
+
+    /**
+     * @return The statistics and shots of the game, all taken at the same instant
+     */
+    public GameSnapshot snapshot() {
+        long stamp = lock.writeLock();
+        try {
+            // finished is read before started: once they match, every shot
+            // started before the lock was taken is over
+            while (finished.sum() != started.sum())
+                Thread.onSpinWait();
+            return new GameSnapshot(new ArrayList<>(shots), countHits.sum(), countSinks.sum(),
+                    countInvalidShots.sum(), countRepeatedShots.sum(), fleet.getFloatingCount());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return A copy of the valid shots fired so far (unlike Game, not a live view)
+     */
+    @Override
+    public List<IPosition> getShots() {
+        return new ArrayList<>(shots);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#getRepeatedShots()
+     */
+    @Override
+    public int getRepeatedShots() {
+        return countRepeatedShots.intValue();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#getInvalidShots()
+     */
+    @Override
+    public int getInvalidShots() {
+        return countInvalidShots.intValue();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#getHits()
+     */
+    @Override
+    public int getHits() {
+        return countHits.intValue();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#getSunkShips()
+     */
+    @Override
+    public int getSunkShips() {
+        return countSinks.intValue();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#getRemainingShips()
+     */
+    @Override
+    public int getRemainingShips() {
+        return fleet.getFloatingCount();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#printValidShots()
+     */
+    @Override
+    public void printValidShots() {
+        Game.printBoard(spec, getShots(), 'X');
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#printFleet()
+     */
+    @Override
+    public void printFleet() {
+        List<IPosition> shipPositions = new ArrayList<>();
+        for (IShip s : fleet.getShips())
+            shipPositions.addAll(s.getPositions());
+        Game.printBoard(spec, shipPositions, '#');
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * An immutable cell of the board. Coordinates inside the standard 10x10 board
+ * are interned: {@link #of(int, int)} always returns the same instance for the
+ * same cell, so probing the board does not allocate; those of other cells (of
+ * larger boards) are fresh instances. Since instances are shared they carry no
+ * hit or occupied state, and {@link #occupy()} and {@link #shoot()} are not
+ * supported; that state belongs to the positions owned by each ship.
+ */
+public final class Coordinate implements IPosition {
+    /**
+     * The side of the square of interned coordinates
+     */
+    private static final int POOL_SIDE = IFleet.BOARD_SIZE;
+    private static final Coordinate[] POOL = new Coordinate[POOL_SIDE * POOL_SIDE];
+
+    static {
+        for (int i = 0; i < POOL.length; i++)
+            POOL[i] = new Coordinate(i / POOL_SIDE, i % POOL_SIDE);
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return The index of the cell in the pool of interned coordinates,
+     *         row * BOARD_SIZE + column; this is not the index of the cell on a
+     *         board, which is {@link BoardSpec#index(int, int)}
+     */
+    private static int poolIndex(int row, int column) {
+        return row * POOL_SIDE + column;
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return true if the coordinate of the cell is interned
+     */
+    private static boolean isPooled(int row, int column) {
+        return row >= 0 && row < POOL_SIDE && column >= 0 && column < POOL_SIDE;
+    }
+
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return The interned coordinate for a cell of the standard board, or a
+     * fresh one for any other cell
+     */
+    public static Coordinate of(int row, int column) {
+        if (isPooled(row, column))
+            return POOL[poolIndex(row, column)];
+        return new Coordinate(row, column);
+    }
+
+    // -----------------------------------------------------
+
+    private final int row;
+    private final int column;
+
+    private Coordinate(int row, int column) {
+        this.row = row;
+        this.column = column;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IPosition#getRow()
+     */
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IPosition#getColumn()
+     */
+    @Override
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public int hashCode() {
+        return IPosition.hash(row, column);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IPosition#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object otherPosition) {
+        if (this == otherPosition)
+            return true;
+        if (otherPosition instanceof IPosition) {
+            IPosition other = (IPosition) otherPosition;
+            return (this.getRow() == other.getRow() && this.getColumn() == other.getColumn());
+        } else {
+            return false;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IPosition#isAdjacentTo(battleship.IPosition)
+     */
+    @Override
+    public boolean isAdjacentTo(IPosition other) {
+        return (Math.abs(this.getRow() - other.getRow()) <= 1 && Math.abs(this.getColumn() - other.getColumn()) <= 1);
+    }
+
+    /**
+     * Coordinates are shared, so they cannot be occupied
+     */
+    @Override
+    public void occupy() {
+        throw new UnsupportedOperationException("ERROR! a coordinate cannot be occupied");
+    }
+
+    /**
+     * Coordinates are shared, so they cannot be shot
+     */
+    @Override
+    public void shoot() {
+        throw new UnsupportedOperationException("ERROR! a coordinate cannot be shot");
+    }
+
+    @Override
+    public boolean isOccupied() {
+        return false;
+    }
+
+    @Override
+    public boolean isHit() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return ("Linha = " + row + " Coluna = " + column);
+    }
+
+}
@@ -0,0 +1,204 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Fires at the cell most likely to hold a ship. Before each shot it enumerates,
+ * for every type of ship still afloat, every placement of a {@link PlacementTable}
+ * consistent with what is known, and counts how many of them cover each cell:
+ * <ul>
+ * <li>hunting (no ship hit but not yet sunk): every placement avoiding the
+ * misses and the surroundings of the sunk ships counts once;</li>
+ * <li>targeting (some ship hit but not yet sunk): only placements through the
+ * pending hits count, and the more hits they explain the more they weigh.</li>
+ * </ul>
+ * Ties are broken at random (but seeded). Known cells are kept as bitmasks
+ * indexed as in {@link BoardSpec#index(int, int)}, so each placement is checked
+ * with a few bit tests.
+ */
+public class DensityStrategy implements ShootingStrategy {
+    /**
+     * Weight of each pending hit explained by a placement, while targeting
+     */
+    private static final int HIT_WEIGHT = 64;
+
+    private final BoardSpec spec;
+    private final PlacementTable table;
+    private final SplittableRandom random;
+
+    /**
+     * For each type of ship, how many are still afloat
+     */
+    private final int[] afloat;
+
+    /**
+     * Cells fired at
+     */
+    private final long[] fired;
+
+    /**
+     * Cells that cannot hold a ship still afloat: misses, and sunk ships with
+     * their surroundings (ships never touch)
+     */
+    private final long[] blocked;
+
+    /**
+     * Cells hit whose ship is still afloat
+     */
+    private final long[] pending;
+    private int pendingCount;
+
+    private final int[] density;
+    private final int[] cells;
+
+    /**
+     * @param seed The seed used to break ties
+     */
+    public DensityStrategy(long seed) {
+        this(BoardSpec.DEFAULT, seed);
+    }
+
+    /**
+     * @param spec The board to fire at and the fleet to look for
+     * @param seed The seed used to break ties
+     */
+    public DensityStrategy(BoardSpec spec, long seed) {
+        this.spec = spec;
+        this.table = PlacementTable.of(spec);
+        this.random = new SplittableRandom(seed);
+        this.afloat = new int[ShipType.values().length];
+        for (ShipType type : ShipType.values())
+            afloat[type.ordinal()] = spec.count(type);
+        this.fired = new long[spec.getWords()];
+        this.blocked = new long[spec.getWords()];
+        this.pending = new long[spec.getWords()];
+        this.pendingCount = 0;
+        this.density = new int[spec.getCells()];
+        this.cells = new int[ShipType.GALLEON.getSize()];
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.ShootingStrategy#nextShot()
+     */
+    @Override
+    public IPosition nextShot() {
+        int cell = -1;
+        if (pendingCount > 0)
+            cell = bestCell(true);
+        if (cell < 0)
+            cell = bestCell(false);
+        if (cell < 0)
+            cell = firstUnfired();
+        return Coordinate.of(spec.row(cell), spec.column(cell));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.ShootingStrategy#shotResult(battleship.IPosition, boolean, battleship.IShip)
+     */
+    @Override
+    public void shotResult(IPosition shot, boolean hit, IShip sunk) {
+        if (!spec.isInside(shot.getRow(), shot.getColumn()))
+            return;
+        int cell = spec.index(shot.getRow(), shot.getColumn());
+        set(fired, cell);
+        if (!hit)
+            set(blocked, cell);
+        else if (!get(pending, cell)) {
+            set(pending, cell);
+            pendingCount++;
+        }
+
+        if (sunk != null) {
+            ShipType type = ShipType.ofCategory(sunk.getCategory());
+            if (type != null && afloat[type.ordinal()] > 0)
+                afloat[type.ordinal()]--;
+            for (IPosition p : sunk.getPositions()) {
+                if (!spec.isInside(p.getRow(), p.getColumn()))
+                    continue;
+                int c = spec.index(p.getRow(), p.getColumn());
+                if (get(pending, c)) {
+                    clear(pending, c);
+                    pendingCount--;
+                }
+                for (int r = p.getRow() - 1; r <= p.getRow() + 1; r++)
+                    for (int k = p.getColumn() - 1; k <= p.getColumn() + 1; k++)
+                        if (spec.isInside(r, k))
+                            set(blocked, spec.index(r, k));
+            }
+        }
+    }
+
+    /**
+     * @param targeting true to count only the placements through pending hits
+     * @return The unfired cell covered by most (weighted) placements, or -1 if no
+     * placement covers an unfired cell
+     */
+    private int bestCell(boolean targeting) {
+        Arrays.fill(density, 0);
+        for (ShipType type : ShipType.values()) {
+            if (afloat[type.ordinal()] == 0)
+                continue;
+            int size = type.getSize();
+            int count = table.count(type);
+            for (int p = 0; p < count; p++) {
+                table.cells(type, p, cells);
+                int hits = 0;
+                boolean legal = true;
+                for (int i = 0; i < size && legal; i++) {
+                    if (get(blocked, cells[i]))
+                        legal = false;
+                    else if (get(pending, cells[i]))
+                        hits++;
+                }
+                if (!legal || (targeting && hits == 0))
+                    continue;
+                int weight = targeting ? HIT_WEIGHT * hits : 1;
+                for (int i = 0; i < size; i++)
+                    density[cells[i]] += weight;
+            }
+        }
+
+        int best = -1;
+        int bestDensity = 0;
+        int ties = 0;
+        for (int cell = 0; cell < density.length; cell++) {
+            if (density[cell] == 0 || get(fired, cell) || density[cell] < bestDensity)
+                continue;
+            if (density[cell] > bestDensity) {
+                best = cell;
+                bestDensity = density[cell];
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    private int firstUnfired() {
+        for (int cell = 0; cell < spec.getCells(); cell++)
+            if (!get(fired, cell))
+                return cell;
+        throw new IllegalStateException("ERROR! every cell has already been fired at");
+    }
+
+    private static boolean get(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+
+    private static void clear(long[] bits, int cell) {
+        bits[cell >>> 6] &= ~(1L << cell);
+    }
+}
@@ -4,30 +4,86 @@
 package iscteiul.ista.battleship;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 public class Fleet implements IFleet {
     /**
-     * This operation prints all the given ships
+     * This operation prints all the given ships, in a single write to the
+     * standard output
      *
      * @param ships The list of ships
      */
     static void printShips(List<IShip> ships) {
-        for (IShip ship : ships)
-            System.out.println(ship);
+        BoardRenderer.stdout().renderShips(ships);
     }
 
     // -----------------------------------------------------
 
+    private final BoardSpec spec;
+
     private List<IShip> ships;
 
+    /**
+     * Read-only view of ships, handed out by getShips (ships are only added
+     * through addShip, which keeps the indexes of the fleet up to date)
+     */
+    private List<IShip> shipsView;
+
+    /**
+     * Number of floating ships among those that notify this fleet when they sink
+     * (volatile, as ships may sink in different threads, see ConcurrentGame)
+     */
+    private volatile int floatingCount;
+
+    /**
+     * Ships that do not tell this fleet when they sink (those that are not a
+     * Ship, or whose positions do not all tell the ship when they are hit), and
+     * so must be checked one by one
+     */
+    private List<IShip> untrackedShips;
+
+    /**
+     * Cells where no new ship may be placed: the cells of the ships already in the
+     * fleet dilated by one (diagonals included), indexed as in BoardSpec.index
+     */
+    private BitSet forbidden;
+
+    /**
+     * Where ships are printed, or null for the standard output
+     */
+    private BoardRenderer renderer;
+
     public Fleet() {
+        this(BoardSpec.DEFAULT);
+    }
+
+    /**
+     * @param spec The board where the ships are placed
+     */
+    public Fleet(BoardSpec spec) {
+        this.spec = spec;
         ships = new ArrayList<>();
+        shipsView = Collections.unmodifiableList(ships);
+        floatingCount = 0;
+        untrackedShips = new ArrayList<>();
+        forbidden = new BitSet(spec.getCells());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IFleet#getBoardSpec()
+     */
+    @Override
+    public BoardSpec getBoardSpec() {
+        return spec;
     }
 
     @Override
     public List<IShip> getShips() {
-        return ships;
+        return shipsView;
     }
 
     /*
@@ -39,13 +95,32 @@ public class Fleet implements IFleet {
     public boolean addShip(IShip s) {
         boolean result = false;
         // CORREÇÃO: trocar <= por <
-        if ((ships.size() < FLEET_SIZE) && (isInsideBoard(s)) && (!colisionRisk(s))) {
+        if ((ships.size() < spec.getFleetSize()) && (isInsideBoard(s)) && (!colisionRisk(s))
+                && (!inAnotherFleet(s))) {
             ships.add(s);
+            markForbidden(s);
+            if (s instanceof Ship)
+                ((Ship) s).setFleet(this);
+            if (s instanceof Ship && ((Ship) s).isTracked()) {
+                if (s.stillFloating())
+                    floatingCount++;
+            } else {
+                untrackedShips.add(s);
+            }
             result = true;
         }
         return result;
     }
 
+    /**
+     * @param s A ship
+     * @return true if it has already been added to another fleet (whose count of
+     * floating ships it keeps)
+     */
+    private boolean inAnotherFleet(IShip s) {
+        return s instanceof Ship && ((Ship) s).getFleet() != null && ((Ship) s).getFleet() != this;
+    }
+
 
     /*
      * (non-Javadoc)
@@ -77,6 +152,27 @@ public class Fleet implements IFleet {
         return floatingShips;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IFleet#getFloatingCount()
+     */
+    @Override
+    public int getFloatingCount() {
+        int count = floatingCount;
+        for (IShip s : untrackedShips)
+            if (s.stillFloating())
+                count++;
+        return count;
+    }
+
+    /**
+     * Called by a ship of this fleet when its last position is hit
+     */
+    synchronized void shipSunk() {
+        floatingCount--;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -90,19 +186,40 @@ public class Fleet implements IFleet {
         return null;
     }
 
+    /**
+     * @param pos A position
+     * @return The index in getShips() of the ship at that position, or -1 if
+     * there is none
+     */
+    public int shipIndexAt(IPosition pos) {
+        for (int i = 0; i < ships.size(); i++)
+            if (ships.get(i).occupies(pos))
+                return i;
+        return -1;
+    }
+
     private boolean isInsideBoard(IShip s) {
-        return (s.getLeftMostPos() >= 0 && s.getRightMostPos() <= BOARD_SIZE - 1 && s.getTopMostPos() >= 0
-                && s.getBottomMostPos() <= BOARD_SIZE - 1);
+        return s.getBoundingBox().isInside(spec.getHeight(), spec.getWidth());
     }
 
+    /**
+     * Must only be called for ships inside the board
+     */
     private boolean colisionRisk(IShip s) {
-        for (int i = 0; i < ships.size(); i++) {
-            if (ships.get(i).tooCloseTo(s))
+        for (IPosition p : s.getPositions())
+            if (forbidden.get(spec.index(p.getRow(), p.getColumn())))
                 return true;
-        }
         return false;
     }
 
+    private void markForbidden(IShip s) {
+        for (IPosition p : s.getPositions())
+            for (int r = p.getRow() - 1; r <= p.getRow() + 1; r++)
+                for (int c = p.getColumn() - 1; c <= p.getColumn() + 1; c++)
+                    if (spec.isInside(r, c))
+                        forbidden.set(spec.index(r, c));
+    }
+
 
     /**
      * This operation shows the state of a fleet
@@ -126,21 +243,36 @@ public class Fleet implements IFleet {
     public void printShipsByCategory(String category) {
         assert category != null;
 
-        printShips(getShipsLike(category));
+        print(getShipsLike(category));
     }
 
     /**
      * This operation prints all the ships of a fleet but not yet shot
      */
     public void printFloatingShips() {
-        printShips(getFloatingShips());
+        print(getFloatingShips());
     }
 
     /**
      * This operation prints all the ships of a fleet
      */
     void printAllShips() {
-        printShips(ships);
+        print(ships);
+    }
+
+    /**
+     * @param renderer Where ships are printed from now on (null for the standard
+     *                 output)
+     */
+    public void setRenderer(BoardRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    private void print(List<IShip> ships) {
+        if (renderer == null)
+            printShips(ships);
+        else
+            renderer.renderShips(ships);
     }
 
 }
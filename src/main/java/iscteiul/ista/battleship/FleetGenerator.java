@@ -0,0 +1,160 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates random valid fleets for a {@link BoardSpec}: inside the board, with
+ * no two ships touching (diagonals included), as required by
+ * {@link Fleet#addShip(IShip)}.
+ * <p>
+ * Ships are placed from the largest to the smallest, each one picking a random
+ * legal placement from a {@link PlacementTable} and checking it against the
+ * halos of the ships already placed. A fleet that gets stuck is restarted, and
+ * a composition that keeps getting stuck is reported as not fitting the board.
+ * Generators are seeded, so the same seed always yields the same fleets, and
+ * they are not thread-safe (use one per thread).
+ */
+public class FleetGenerator {
+    /**
+     * Random placements tried for a ship before restarting the whole fleet
+     */
+    private static final int MAX_TRIES = 64;
+
+    /**
+     * Restarts of a fleet before giving up on its composition
+     */
+    private static final int MAX_RESTARTS = 10_000;
+
+    private final BoardSpec spec;
+    private final PlacementTable table;
+    private final ShipType[] composition;
+    private SplittableRandom random;
+    private final long[] forbidden;
+    private final int[] layout;
+
+    /**
+     * @param seed The seed of the random generator
+     */
+    public FleetGenerator(long seed) {
+        this(BoardSpec.DEFAULT, seed);
+    }
+
+    /**
+     * @param composition The types of the ships of each fleet, on the standard
+     *                    board
+     * @param seed        The seed of the random generator
+     */
+    public FleetGenerator(ShipType[] composition, long seed) {
+        this(new BoardSpec(IFleet.BOARD_SIZE, IFleet.BOARD_SIZE, composition), seed);
+    }
+
+    /**
+     * @param spec The board and the composition of each fleet
+     * @param seed The seed of the random generator
+     */
+    public FleetGenerator(BoardSpec spec, long seed) {
+        this(spec, PlacementTable.of(spec), seed);
+    }
+
+    /**
+     * @param spec  The board and the composition of each fleet
+     * @param table The placement table of that board, shared by the generators
+     *              of the same board (tables are read-only)
+     * @param seed  The seed of the random generator
+     */
+    FleetGenerator(BoardSpec spec, PlacementTable table, long seed) {
+        this.spec = spec;
+        this.table = table;
+        this.composition = spec.getComposition();
+        this.random = new SplittableRandom(seed);
+        this.forbidden = new long[table.getWords()];
+        this.layout = new int[this.composition.length];
+    }
+
+    /**
+     * Restarts the generator as if it had just been built with that seed, so that
+     * one generator can yield the fleets of many seeded games
+     *
+     * @param seed The new seed of the random generator
+     */
+    void setSeed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return The board and the composition of the generated fleets
+     */
+    public BoardSpec getBoardSpec() {
+        return spec;
+    }
+
+    /**
+     * @return The types of the ships, in the order used by nextLayout
+     */
+    public ShipType[] getComposition() {
+        return composition.clone();
+    }
+
+    /**
+     * @return The placement table used to decode layouts
+     */
+    public PlacementTable getTable() {
+        return table;
+    }
+
+    /**
+     * Generates a random fleet without building any object. The returned array is
+     * reused by the next call.
+     *
+     * @return For each ship of getComposition(), the index of its placement in
+     * getTable()
+     * @throws IllegalStateException if the ships do not seem to fit the board
+     */
+    public int[] nextLayout() {
+        for (int restarts = 0; restarts < MAX_RESTARTS; restarts++)
+            if (tryLayout())
+                return layout;
+        throw new IllegalStateException("ERROR! could not place the fleet " + spec);
+    }
+
+    private boolean tryLayout() {
+        Arrays.fill(forbidden, 0L);
+        for (int i = 0; i < composition.length; i++) {
+            ShipType type = composition[i];
+            int count = table.count(type);
+            if (count == 0)
+                return false;
+            int tries = 0;
+            int placement;
+            do {
+                if (tries++ == MAX_TRIES)
+                    return false;
+                placement = random.nextInt(count);
+            } while (!table.isFree(type, placement, forbidden));
+            table.addHalo(type, placement, forbidden);
+            layout[i] = placement;
+        }
+        return true;
+    }
+
+    /**
+     * @return A new random fleet
+     * @throws IllegalStateException if the ships do not seem to fit the board, or
+     *                               the fleet rejects one of the ships of the
+     *                               layout
+     */
+    public Fleet nextFleet() {
+        int[] placements = nextLayout();
+        Fleet fleet = new BitboardFleet(spec);
+        for (int i = 0; i < composition.length; i++) {
+            IShip ship = table.build(composition[i], placements[i]);
+            if (!fleet.addShip(ship))
+                throw new IllegalStateException("ERROR! the fleet rejected the generated ship " + ship);
+        }
+        return fleet;
+    }
+}
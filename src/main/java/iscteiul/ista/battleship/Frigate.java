@@ -14,18 +14,8 @@ public class Frigate extends Ship {
     public Frigate(Compass bearing, IPosition pos) throws IllegalArgumentException {
         super(NAME, bearing, pos);
 
-        switch (bearing) {
-            case NORTH:
-            case SOUTH:
-                for (int r = 0; r < SIZE; r++)
-                    getPositions().add(new Position(pos.getRow() + r, pos.getColumn()));
-                break;
-            case EAST:
-            case WEST:
-                for (int c = 0; c < SIZE; c++)
-                    getPositions().add(new Position(pos.getRow(), pos.getColumn() + c));
-                break;
-        }
+        if (ShapeTable.hasShape(ShipType.FRIGATE, bearing))
+            fillShape(ShipType.FRIGATE, bearing);
     }
 
     public static Frigate of(Compass bearing, IPosition pos) {
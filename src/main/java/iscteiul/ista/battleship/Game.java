@@ -4,6 +4,8 @@
 package iscteiul.ista.battleship;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,24 +14,68 @@ import java.util.List;
  */
 public class Game implements IGame {
     private IFleet fleet;
+    private BoardSpec spec;
+
+    /**
+     * Width of the grid of cells accepted by ShotResolution.isValid (0..width
+     * inclusive)
+     */
+    private int gridWidth;
     private List<IPosition> shots;
 
-    private Integer countInvalidShots;
-    private Integer countRepeatedShots;
-    private Integer countHits;
-    private Integer countSinks;
+    /**
+     * Read-only view of shots, handed out by getShots
+     */
+    private List<IPosition> shotsView;
+    private BitSet firedCells;
+
+    private GameStats stats;
+
+    /**
+     * Where the shots are recorded, or null
+     */
+    private GameJournal journal;
+
+    /**
+     * Where boards are printed, or null for the standard output
+     */
+    private BoardRenderer renderer;
 
+    /**
+     * The ship sunk by the last shot whose outcome was SUNK
+     */
+    private IShip lastSunk;
+
+    /**
+     * Fires the shots of salvos
+     */
+    private final ShotResolution.Shooter shooter = this::shoot;
 
     /**
      * @param fleet
      */
     public Game(IFleet fleet) {
+        spec = fleet.getBoardSpec();
+        gridWidth = ShotResolution.gridWidth(spec);
         shots = new ArrayList<>();
-        countInvalidShots = 0;
-        countRepeatedShots = 0;
+        shotsView = Collections.unmodifiableList(shots);
+        firedCells = new BitSet(ShotResolution.gridCells(spec));
+        stats = new GameStats();
         this.fleet = fleet;
     }
 
+    /**
+     * A game whose fleet and shots are recorded in a journal
+     *
+     * @param fleet   The fleet, with all its ships already placed
+     * @param journal The journal, where the fleet is recorded right away
+     */
+    public Game(IFleet fleet, GameJournal journal) {
+        this(fleet);
+        journal.recordFleet(this, fleet);
+        this.journal = journal;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -37,25 +83,73 @@ public class Game implements IGame {
      */
     @Override
     public IShip fire(IPosition pos) {
-        if (!validShot(pos))
-            countInvalidShots++;
-        else { // valid shot!
-            if (repeatedShot(pos))
-                countRepeatedShots++;
-            else {
-                shots.add(pos);
-                IShip s = fleet.shipAt(pos);
-                if (s != null) {
-                    s.shoot(pos);
-                    countHits++;
-                    if (!s.stillFloating()) {
-                        countSinks++;
-                        return s;
-                    }
-                }
-            }
+        return ShotOutcome.of(fireAt(pos)) == ShotOutcome.SUNK ? lastSunk : null;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireAt(battleship.IPosition)
+     */
+    @Override
+    public int fireAt(IPosition pos) {
+        return shoot(pos);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireSalvo(battleship.IPosition[])
+     */
+    @Override
+    public SalvoResult fireSalvo(IPosition... salvo) {
+        return ShotResolution.fire(shooter, salvo);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IGame#fireSalvo(long[])
+     */
+    @Override
+    public SalvoResult fireSalvo(long[] cellMask) {
+        return ShotResolution.fire(shooter, spec, cellMask);
+    }
+
+    /**
+     * Resolves a shot and counts it
+     *
+     * @return The code of the outcome of the shot (if SUNK, the ship is also left
+     * in lastSunk)
+     */
+    private int shoot(IPosition pos) {
+        int code = resolve(pos);
+        if (journal != null)
+            journal.recordShot(this, pos.getRow(), pos.getColumn(), code);
+        return code;
+    }
+
+    private int resolve(IPosition pos) {
+        if (!validShot(pos)) {
+            stats.record(ShotOutcome.INVALID, null);
+            return ShotOutcome.INVALID.code();
         }
-        return null;
+        if (repeatedShot(pos)) {
+            stats.record(ShotOutcome.REPEATED, null);
+            return ShotOutcome.REPEATED.code();
+        }
+        shots.add(pos);
+        firedCells.set(ShotResolution.cellOf(gridWidth, pos));
+        IShip s = fleet.shipAt(pos);
+        if (s == null) {
+            stats.record(ShotOutcome.MISS, null);
+            return ShotOutcome.MISS.code();
+        }
+        int code = ShotResolution.hit(fleet, s, pos);
+        stats.record(ShotOutcome.of(code), ShipType.ofCategory(s.getCategory()));
+        if (ShotOutcome.of(code) == ShotOutcome.SUNK)
+            lastSunk = s;
+        return code;
     }
 
     /*
@@ -65,7 +159,7 @@ public class Game implements IGame {
      */
     @Override
     public List<IPosition> getShots() {
-        return shots;
+        return shotsView;
     }
 
     /*
@@ -75,7 +169,7 @@ public class Game implements IGame {
      */
     @Override
     public int getRepeatedShots() {
-        return this.countRepeatedShots;
+        return stats.getRepeatedShots();
     }
 
     /*
@@ -85,7 +179,7 @@ public class Game implements IGame {
      */
     @Override
     public int getInvalidShots() {
-        return this.countInvalidShots;
+        return stats.getInvalidShots();
     }
 
     /*
@@ -95,7 +189,7 @@ public class Game implements IGame {
      */
     @Override
     public int getHits() {
-        return this.countHits;
+        return stats.getHits();
     }
 
     /*
@@ -105,7 +199,7 @@ public class Game implements IGame {
      */
     @Override
     public int getSunkShips() {
-        return this.countSinks;
+        return stats.getSinks();
     }
 
     /*
@@ -115,39 +209,54 @@ public class Game implements IGame {
      */
     @Override
     public int getRemainingShips() {
-        List<IShip> floatingShips = fleet.getFloatingShips();
-        return floatingShips.size();
+        return fleet.getFloatingCount();
+    }
+
+    /**
+     * @return The fleet this game is played against
+     */
+    public IFleet getFleet() {
+        return fleet;
+    }
+
+    /**
+     * @return A copy of the shot counters of this game, by type of ship included
+     */
+    public GameStats getStats() {
+        return stats.snapshot();
     }
 
     private boolean validShot(IPosition pos) {
-        return (pos.getRow() >= 0 && pos.getRow() <= Fleet.BOARD_SIZE && pos.getColumn() >= 0
-                && pos.getColumn() <= Fleet.BOARD_SIZE);
+        return ShotResolution.isValid(spec, pos);
     }
 
     private boolean repeatedShot(IPosition pos) {
-        for (int i = 0; i < shots.size(); i++)
-            if (shots.get(i).equals(pos))
-                return true;
-        return false;
+        return firedCells.get(ShotResolution.cellOf(gridWidth, pos));
     }
 
+    /**
+     * @param renderer Where boards are printed from now on (null for the standard
+     *                 output)
+     */
+    public void setRenderer(BoardRenderer renderer) {
+        this.renderer = renderer;
+    }
 
     public void printBoard(List<IPosition> positions, Character marker) {
-        char[][] map = new char[Fleet.BOARD_SIZE][Fleet.BOARD_SIZE];
-
-        for (int r = 0; r < Fleet.BOARD_SIZE; r++)
-            for (int c = 0; c < Fleet.BOARD_SIZE; c++)
-                map[r][c] = '.';
-
-        for (IPosition pos : positions)
-            map[pos.getRow()][pos.getColumn()] = marker;
-
-        for (int row = 0; row < Fleet.BOARD_SIZE; row++) {
-            for (int col = 0; col < Fleet.BOARD_SIZE; col++)
-                System.out.print(map[row][col]);
-            System.out.println();
-        }
+        (renderer == null ? BoardRenderer.stdout() : renderer).renderBoard(spec, positions, marker);
+    }
 
+    /**
+     * Prints a board with the given positions marked, in a single write to the
+     * standard output
+     *
+     * @param spec      The board
+     * @param positions The positions to mark (those outside the board are left
+     *                  out)
+     * @param marker    The character marking them
+     */
+    static void printBoard(BoardSpec spec, List<IPosition> positions, char marker) {
+        BoardRenderer.stdout().renderBoard(spec, positions, marker);
     }
 
 
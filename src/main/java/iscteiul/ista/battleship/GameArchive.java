@@ -0,0 +1,106 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A read-only, memory-mapped archive of games written by an
+ * {@link ArchiveWriter}. Games are read in place through {@link ArchivedGame}
+ * views: any game can be reached in constant time through the index, and
+ * scanning the whole archive copies nothing and builds no positions, ships or
+ * fleets (unless a game is explicitly replayed).
+ * <p>
+ * The mappings stay valid until the archive is garbage collected; reads never
+ * move a buffer position, so an archive may be read by several threads at once.
+ */
+public final class GameArchive {
+    private final MappedByteBuffer[] segments;
+    private final int segmentShift;
+    private final LongBuffer index;
+    private final int count;
+
+    /**
+     * Maps an archive
+     *
+     * @param path The file of the archive
+     * @throws IOException If the file cannot be mapped, or is not an archive
+     */
+    public GameArchive(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(ArchiveWriter.HEADER);
+            ByteBuffer trailer = ByteBuffer.allocate(ArchiveWriter.TRAILER);
+            if (size < ArchiveWriter.HEADER + ArchiveWriter.TRAILER)
+                throw new IOException("ERROR! " + path + " is not a game archive");
+            channel.read(header, 0);
+            channel.read(trailer, size - ArchiveWriter.TRAILER);
+            header.flip();
+            trailer.flip();
+            long indexOffset = trailer.getLong();
+            count = trailer.getInt();
+            if (header.getInt() != ArchiveWriter.MAGIC || trailer.getInt() != ArchiveWriter.MAGIC)
+                throw new IOException("ERROR! " + path + " is not a game archive");
+            segmentShift = header.getInt();
+            if (segmentShift < 10 || segmentShift > 30 || count < 0 || indexOffset < ArchiveWriter.HEADER
+                    || indexOffset + (long) Long.BYTES * count + ArchiveWriter.TRAILER != size)
+                throw new IOException("ERROR! " + path + " is corrupted");
+
+            index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) Long.BYTES * count)
+                    .asLongBuffer();
+            long segmentSize = 1L << segmentShift;
+            segments = new MappedByteBuffer[(int) ((indexOffset + segmentSize - 1) >>> segmentShift)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << segmentShift;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(segmentSize, indexOffset - start));
+            }
+        }
+    }
+
+    /**
+     * @return The number of games in the archive
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param n The number of a game, from 0
+     * @return A view of that game
+     */
+    public ArchivedGame get(int n) {
+        ArchivedGame view = new ArchivedGame();
+        moveTo(view, n);
+        return view;
+    }
+
+    /**
+     * Visits every game in order, through a single view moved from game to game
+     * (so the view must not be kept by the action)
+     *
+     * @param action What to do with each game
+     */
+    public void forEach(Consumer<ArchivedGame> action) {
+        ArchivedGame view = new ArchivedGame();
+        for (int n = 0; n < count; n++) {
+            moveTo(view, n);
+            action.accept(view);
+        }
+    }
+
+    private void moveTo(ArchivedGame view, int n) {
+        if (n < 0 || n >= count)
+            throw new IndexOutOfBoundsException("ERROR! invalid game number " + n);
+        long offset = index.get(n);
+        view.moveTo(segments[(int) (offset >>> segmentShift)], (int) (offset & ((1L << segmentShift) - 1)));
+    }
+}
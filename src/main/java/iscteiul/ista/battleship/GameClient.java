@@ -0,0 +1,95 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A blocking client of a {@link GameServer}: sends one command at a time and
+ * waits for its whole answer.
+ */
+public final class GameClient implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 9;
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final OutputStream out;
+    private final long id;
+
+    /**
+     * Connects and reads the greeting of the server
+     *
+     * @param address The address of the server
+     * @throws IOException If the server cannot be reached, or does not greet
+     */
+    public GameClient(InetSocketAddress address) throws IOException {
+        socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(address);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8),
+                    BUFFER_SIZE);
+            out = socket.getOutputStream();
+            String greeting = readAnswer().trim();
+            id = Long.parseLong(greeting.substring(greeting.lastIndexOf(' ') + 1));
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The id of the game of this client
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sends a command and waits for its answer
+     *
+     * @param command The command, with its arguments
+     * @return The answer, a line per line of output (without the final
+     *         {@value GameServer#END})
+     * @throws IOException If the connection fails or is closed before the end
+     *                     of the answer
+     */
+    public String send(String command) throws IOException {
+        out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return readAnswer();
+    }
+
+    /**
+     * @return true if the server has closed the connection
+     * @throws IOException If the connection fails
+     */
+    public boolean isClosedByServer() throws IOException {
+        return in.read() < 0;
+    }
+
+    private String readAnswer() throws IOException {
+        StringBuilder answer = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(GameServer.END))
+                return answer.toString();
+            answer.append(line).append('\n');
+        }
+        throw new EOFException("ERROR! connection closed before the end of the answer");
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
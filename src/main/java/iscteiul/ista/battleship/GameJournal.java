@@ -0,0 +1,213 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * An append-only binary journal of games: for each game, the placement of its
+ * fleet followed by every shot fired and its outcome, enough to replay the game
+ * exactly with a {@link JournalReader}. Games are journaled by building them
+ * with {@link Game#Game(IFleet, GameJournal)}.
+ * <p>
+ * After a 4-byte magic number, the file is a sequence of records, each starting
+ * with a varint header (payload &lt;&lt; 1 | kind):
+ * <ul>
+ * <li>a fleet (kind 0, payload 0): the height and width of the board, the
+ * composition of the fleet as ShipType ordinals, and for each ship its type,
+ * bearing and anchor row and column;</li>
+ * <li>a shot (kind 1, payload the ShotOutcome code): the cell fired at as a
+ * varint of row * (width + 1) + column + 1, or 0 followed by the row and column
+ * for shots outside the range accepted by Game (cells of a bitmask salvo past
+ * the board are recorded at row and column -1).</li>
+ * </ul>
+ * Ints that may be negative are zigzag encoded. A shot on the standard board
+ * takes 2 bytes. Records are gathered in a buffer and written to a FileChannel
+ * when it fills up, on flush and on close.
+ * <p>
+ * A journal is not thread-safe, and records one game at a time: shots belong to
+ * the game whose fleet was recorded last, and shots of an earlier game are
+ * rejected.
+ */
+public final class GameJournal implements Closeable, Flushable {
+    /**
+     * "BSJ1"
+     */
+    static final int MAGIC = 0x42534a31;
+    static final int FLEET = 0;
+    static final int SHOT = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Largest size of a shot record, and of each part of a fleet record
+     */
+    private static final int MAX_RECORD = 32;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * The game of the last fleet recorded
+     */
+    private Object current;
+    private int gridHeight;
+    private int gridWidth;
+    private long events;
+
+    /**
+     * Opens a journal, creating it if needed, and appends to it
+     *
+     * @param path The file of the journal
+     * @throws IOException If the file cannot be opened, or is not a journal
+     */
+    public GameJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC);
+        } else {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, 0);
+            if (magic.flip().remaining() < Integer.BYTES || magic.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("ERROR! " + path + " is not a game journal");
+            }
+        }
+        channel.position(channel.size());
+    }
+
+    /**
+     * Records the start of a game
+     *
+     * @param game  The game, to which the shots recorded next belong
+     * @param fleet Its fleet, with all its ships placed
+     */
+    void recordFleet(Object game, IFleet fleet) {
+        BoardSpec spec = fleet.getBoardSpec();
+        ShipType[] composition = spec.getComposition();
+        List<IShip> ships = fleet.getShips();
+
+        reserve(MAX_RECORD);
+        putVarint(FLEET);
+        putVarint(spec.getHeight());
+        putVarint(spec.getWidth());
+        putVarint(composition.length);
+        for (ShipType type : composition) {
+            reserve(1);
+            buffer.put((byte) type.ordinal());
+        }
+        reserve(MAX_RECORD);
+        putVarint(ships.size());
+        for (IShip s : ships) {
+            ShipType type = ShipType.ofCategory(s.getCategory());
+            if (type == null)
+                throw new IllegalArgumentException("ERROR! unknown ship category " + s.getCategory());
+            reserve(MAX_RECORD);
+            buffer.put((byte) type.ordinal());
+            buffer.put((byte) s.getBearing().ordinal());
+            putVarint(zigzag(s.getPosition().getRow()));
+            putVarint(zigzag(s.getPosition().getColumn()));
+        }
+
+        current = game;
+        gridHeight = spec.getHeight() + 1;
+        gridWidth = spec.getWidth() + 1;
+        events++;
+    }
+
+    /**
+     * Records a shot of the current game
+     *
+     * @param game   The game the shot was fired in
+     * @param row    The row fired at
+     * @param column The column fired at
+     * @param code   The code of the outcome of the shot (see ShotOutcome)
+     */
+    void recordShot(Object game, int row, int column, int code) {
+        if (game != current)
+            throw new IllegalStateException("ERROR! shot of a game that is not the last one journaled");
+        reserve(MAX_RECORD);
+        putVarint(code << 1 | SHOT);
+        if (row >= 0 && row < gridHeight && column >= 0 && column < gridWidth) {
+            putVarint(row * gridWidth + column + 1);
+        } else {
+            putVarint(0);
+            putVarint(zigzag(row));
+            putVarint(zigzag(column));
+        }
+        events++;
+    }
+
+    /**
+     * @return The number of records written since the journal was opened
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Writes the buffered records to the file (without forcing them to the disk)
+     *
+     * @throws IOException If they cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes the buffered records and closes the file
+     *
+     * @throws IOException If they cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void reserve(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,473 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Hosts many games at once over TCP, one {@link GameSession} per connection.
+ * Connections are spread over a few threads (one per core by default), each
+ * serving all of its connections with a non-blocking Selector; the first one
+ * also accepts the new connections.
+ * <p>
+ * The protocol is made of lines (in UTF-8): each line from the client holds one
+ * command of taskD with its arguments (the ships of "nova" included, on the
+ * same line; anything left after the command is ignored, and empty lines are
+ * skipped), and each is answered with the output of the command followed by a
+ * line holding just {@value #END}. On connection, the server greets with the
+ * id of the new game (also followed by {@value #END}). The connection is closed
+ * after answering "desisto", or when a line is longer than {@value #MAX_LINE}
+ * bytes.
+ * <p>
+ * Sessions are kept in a table, keyed by the id of their game, from the
+ * connection until it is closed.
+ */
+public final class GameServer implements Closeable {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final int DEFAULT_PORT = 4242;
+
+    /**
+     * The line ending every answer
+     */
+    public static final String END = ".";
+
+    /**
+     * The longest line accepted, in bytes
+     */
+    public static final int MAX_LINE = 1 << 10;
+
+    private static final String NEWLINE = System.lineSeparator();
+    private static final int OUTPUT_SIZE = 1 << 9;
+
+    /**
+     * The bytes of one line, read by the CommandReader of the server as if they
+     * were the whole input
+     */
+    private static final class LineInput extends InputStream {
+        private byte[] bytes;
+        private int position;
+        private int limit;
+
+        void set(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.position = offset;
+            this.limit = offset + length;
+        }
+
+        @Override
+        public int read() {
+            return position < limit ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position == limit)
+                return -1;
+            int n = Math.min(len, limit - position);
+            System.arraycopy(bytes, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+
+    /**
+     * A client: its session and its buffers
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final GameSession session;
+        private final ByteBuffer input;
+        private ByteBuffer output;
+        private boolean closing;
+
+        private Connection(SocketChannel channel, GameSession session) {
+            this.channel = channel;
+            this.session = session;
+            this.input = ByteBuffer.allocate(MAX_LINE);
+            this.output = ByteBuffer.allocate(OUTPUT_SIZE);
+            this.closing = false;
+        }
+    }
+
+    // -----------------------------------------------------
+
+    private final ServerSocketChannel server;
+    private final long seed;
+    private final Loop[] loops;
+    private final AtomicLong ids;
+    private final Map<Long, GameSession> sessions;
+    private volatile boolean running;
+
+    /**
+     * Binds the server, with a thread per core
+     *
+     * @param address The address to listen at (port 0 picks a free one)
+     * @param seed    The seed of the random fleets and computer players of the
+     *                games
+     * @throws IOException If the address cannot be bound
+     */
+    public GameServer(InetSocketAddress address, long seed) throws IOException {
+        this(address, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Binds the server, which only accepts connections once started
+     *
+     * @param address The address to listen at (port 0 picks a free one)
+     * @param seed    The seed of the random fleets and computer players of the
+     *                games
+     * @param threads The number of threads serving the connections
+     * @throws IOException If the address cannot be bound
+     */
+    public GameServer(InetSocketAddress address, long seed, int threads) throws IOException {
+        if (threads <= 0)
+            throw new IllegalArgumentException("ERROR! a server needs at least one thread");
+        this.server = ServerSocketChannel.open();
+        this.loops = new Loop[threads];
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            for (int i = 0; i < threads; i++)
+                loops[i] = new Loop("battleship-server-" + getPort() + "-" + i);
+            server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            for (Loop loop : loops)
+                if (loop != null)
+                    loop.selector.close();
+            server.close();
+            throw e;
+        }
+        this.seed = seed;
+        this.ids = new AtomicLong();
+        this.sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Starts serving
+     *
+     * @return This server
+     */
+    public GameServer start() {
+        running = true;
+        for (Loop loop : loops)
+            loop.thread.start();
+        return this;
+    }
+
+    /**
+     * @return The port the server listens at
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * @return The number of open sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @param id The id of a game
+     * @return Its session, or null if it is not open
+     */
+    public GameSession getSession(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Waits until the server is closed
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        for (Loop loop : loops)
+            loop.thread.join();
+    }
+
+    /**
+     * Stops serving and closes every connection
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        for (Loop loop : loops)
+            loop.selector.wakeup();
+        for (Loop loop : loops) {
+            if (loop.thread.isAlive() && Thread.currentThread() != loop.thread) {
+                try {
+                    loop.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!loop.thread.isAlive())
+                loop.shutdown();
+        }
+        server.close();
+    }
+
+    /**
+     * A thread serving some of the connections
+     */
+    private final class Loop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+
+        /**
+         * Connections accepted by the first loop, to be registered by this one
+         */
+        private final Queue<Connection> accepted;
+
+        private final LineInput line;
+        private final CommandReader reader;
+        private final StringBuilder answer;
+        private final CharsetEncoder encoder;
+
+        private Loop(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            this.accepted = new ConcurrentLinkedQueue<>();
+            this.line = new LineInput();
+            this.reader = GameSession.newReader(line);
+            this.answer = new StringBuilder(OUTPUT_SIZE);
+            this.encoder = StandardCharsets.UTF_8.newEncoder();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    Connection c;
+                    while ((c = accepted.poll()) != null)
+                        greet(c);
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.error("Servidor parado: {}", e.getMessage());
+            } finally {
+                shutdown();
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            Connection c = (Connection) key.attachment();
+            try {
+                if (!key.isValid())
+                    return;
+                if (key.isAcceptable()) {
+                    accept();
+                    return;
+                }
+                if (key.isReadable())
+                    read(key, c);
+                if (key.isValid() && key.isWritable())
+                    write(key, c);
+            } catch (IOException e) {
+                if (c == null) {
+                    LOGGER.warn("Falha ao aceitar uma ligacao: {}", e.getMessage());
+                } else {
+                    LOGGER.debug("Ligacao {} perdida: {}", box(c.session.getId()), e.getMessage());
+                    disconnect(key, c);
+                }
+            }
+        }
+
+        /**
+         * Accepts the pending connections, handing them to the loops in turn
+         */
+        private void accept() throws IOException {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                long id = ids.incrementAndGet();
+                GameSession session = new GameSession(id, Simulator.mix(seed + id), GameSession.Mode.SERVER);
+                Connection c = new Connection(channel, session);
+                sessions.put(id, c.session);
+                Loop loop = loops[(int) (id % loops.length)];
+                if (loop == this) {
+                    greet(c);
+                } else {
+                    loop.accepted.add(c);
+                    loop.selector.wakeup();
+                }
+            }
+        }
+
+        /**
+         * Registers a new connection, and sends it the id of its game
+         */
+        private void greet(Connection c) {
+            SelectionKey key = null;
+            try {
+                key = c.channel.register(selector, SelectionKey.OP_READ, c);
+                answer.setLength(0);
+                answer.append("Jogo ").append(c.session.getId()).append(NEWLINE);
+                reply(c);
+                write(key, c);
+            } catch (IOException e) {
+                LOGGER.debug("Ligacao {} perdida: {}", box(c.session.getId()), e.getMessage());
+                disconnect(key, c);
+            }
+        }
+
+        private void read(SelectionKey key, Connection c) throws IOException {
+            if (c.channel.read(c.input) < 0) {
+                disconnect(key, c);
+                return;
+            }
+            ByteBuffer in = c.input;
+            byte[] bytes = in.array();
+            int start = 0;
+            for (int i = 0; i < in.position() && !c.closing; i++) {
+                if (bytes[i] == '\n') {
+                    execute(c, bytes, start, i - start);
+                    start = i + 1;
+                }
+            }
+            in.flip().position(start);
+            in.compact();
+            if (!in.hasRemaining() && !c.closing) {
+                answer.setLength(0);
+                answer.append("Linha demasiado longa!").append(NEWLINE);
+                reply(c);
+                c.closing = true;
+            }
+            write(key, c);
+        }
+
+        /**
+         * Runs the command in a line, and adds its answer to the output of the
+         * connection
+         */
+        private void execute(Connection c, byte[] bytes, int offset, int length) {
+            line.set(bytes, offset, length);
+            if (!reader.hasNext())
+                return;
+            answer.setLength(0);
+            try {
+                c.closing = !c.session.execute(reader, answer);
+            } catch (RuntimeException e) {
+                LOGGER.error("Erro no jogo {}", box(c.session.getId()), e);
+                answer.append("Erro!").append(NEWLINE);
+            }
+            while (reader.hasNext())
+                reader.next();
+            reply(c);
+        }
+
+        /**
+         * Encodes the answer, and its end, into the output of the connection
+         */
+        private void reply(Connection c) {
+            answer.append(END).append(NEWLINE);
+            int needed = (int) (answer.length() * encoder.maxBytesPerChar());
+            if (c.output.remaining() < needed) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * c.output.capacity(),
+                        c.output.position() + needed));
+                c.output = larger.put(c.output.flip());
+            }
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(answer), c.output, true);
+            encoder.flush(c.output);
+        }
+
+        /**
+         * Sends as much of the output as the socket takes, and only reads again
+         * once all of it has been sent
+         */
+        private void write(SelectionKey key, Connection c) throws IOException {
+            ByteBuffer out = c.output;
+            out.flip();
+            c.channel.write(out);
+            out.compact();
+            if (out.position() > 0) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (c.closing) {
+                disconnect(key, c);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void disconnect(SelectionKey key, Connection c) {
+            if (key != null)
+                key.cancel();
+            sessions.remove(c.session.getId());
+            try {
+                c.channel.close();
+            } catch (IOException e) {
+                LOGGER.debug("Falha ao fechar a ligacao {}: {}", box(c.session.getId()), e.getMessage());
+            }
+        }
+
+        /**
+         * Closes the connections of the loop (those handed to it after it stopped
+         * included, when called again)
+         */
+        private synchronized void shutdown() {
+            Connection c;
+            while ((c = accepted.poll()) != null)
+                disconnect(null, c);
+            if (!selector.isOpen())
+                return;
+            for (SelectionKey key : selector.keys())
+                if (key.attachment() instanceof Connection)
+                    disconnect(key, (Connection) key.attachment());
+            try {
+                selector.close();
+            } catch (IOException e) {
+                LOGGER.debug("Falha ao fechar o servidor: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped
+     *
+     * @param args The port to listen at (by default, {@value #DEFAULT_PORT})
+     * @throws IOException          If the port cannot be bound
+     * @throws InterruptedException If interrupted while serving
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Logging.configure();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try (GameServer server = new GameServer(new InetSocketAddress(port), System.nanoTime()).start()) {
+            LOGGER.info("Servidor a escuta na porta {}", box(server.getPort()));
+            server.awaitTermination();
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The state of one player's game (fleet, game and computer opponent) and the
+ * commands of taskB, taskC, taskD or the GameServer acting on it (see
+ * {@link Mode}), with everything they print handed to an {@link Output}, so
+ * that a host (such as the GameServer or the SessionEngine) can send it
+ * wherever it wants: appended to a buffer, or logged. A command is read with
+ * its arguments from a CommandReader.
+ * <p>
+ * "nova" reads ships until the fleet is full, the next token is a command or
+ * the input ends; whatever follows is read as the next command. The loop of
+ * the original tasks read ships until one more than the fleet size had been
+ * added, which the fleet never allows, so it only ended by failing at the end
+ * of the input.
+ * <p>
+ * A session is not thread-safe: its host runs one command at a time.
+ */
+public final class GameSession {
+    static final String NOVAFROTA = "nova";
+    static final String DESISTIR = "desisto";
+    static final String RAJADA = "rajada";
+    static final String VERTIROS = "ver";
+    static final String BATOTA = "mapa";
+    static final String STATUS = "estado";
+    static final String AUTOMATICO = "auto";
+
+    private static final String NEWLINE = System.lineSeparator();
+    private static final int NUMBER_SHOTS = 3;
+
+    /**
+     * The commands understood by a session: those of each of the tasks, and
+     * those of the GameServer
+     */
+    public enum Mode {
+        /**
+         * taskB: building fleets
+         */
+        FLEETS("Que comando é esse??? Repete lá ...", false, NOVAFROTA, STATUS),
+        /**
+         * taskC: building fleets, and cheating (printing the fleet)
+         */
+        CHEATING("Que comando é esse??? Repete lá ...", false, NOVAFROTA, STATUS, BATOTA),
+        /**
+         * taskD: building fleets and fighting, the player ("rajada") or the
+         * computer ("auto")
+         */
+        BATTLE("Que comando é esse??? Repete ...", false, NOVAFROTA, STATUS, BATOTA, RAJADA, AUTOMATICO, VERTIROS),
+        /**
+         * The GameServer: those of taskD, and random fleets ("nova" without
+         * ships)
+         */
+        SERVER("Que comando é esse??? Repete ...", true, NOVAFROTA, STATUS, BATOTA, RAJADA, AUTOMATICO, VERTIROS);
+
+        private final String unknown;
+        private final boolean randomFleets;
+        private final List<String> commands;
+
+        Mode(String unknown, boolean randomFleets, String... commands) {
+            this.unknown = unknown;
+            this.randomFleets = randomFleets;
+            this.commands = List.of(commands);
+        }
+
+        /**
+         * @param command A command
+         * @return true if it is one of the commands of the mode (desisto always is)
+         */
+        public boolean accepts(String command) {
+            return command.equals(DESISTIR) || commands.contains(command);
+        }
+
+        /**
+         * @return true if "nova" without ships places a random fleet (else an
+         *         empty one)
+         */
+        public boolean hasRandomFleets() {
+            return randomFleets;
+        }
+    }
+
+    /**
+     * Where the output of the commands goes: their messages, each a pattern
+     * with "{}" for each of its parameters (as those of a Logger, so that they
+     * are logged without being formatted first), and their boards and lists of
+     * ships, as written by the renderer of the session
+     */
+    public interface Output extends BoardRenderer.Sink {
+        void message(String pattern);
+
+        void message(String pattern, Object p0);
+
+        void message(String pattern, Object p0, Object p1, Object p2);
+
+        void message(String pattern, Object p0, Object p1, Object p2, Object p3);
+    }
+
+    /**
+     * @param logger Where the messages go, at level INFO
+     * @param boards Where the boards and lists of ships go
+     * @return An output logging the messages
+     */
+    public static Output logOutput(Logger logger, BoardRenderer.Sink boards) {
+        return new Output() {
+            @Override
+            public void message(String pattern) {
+                logger.info(pattern);
+            }
+
+            @Override
+            public void message(String pattern, Object p0) {
+                logger.info(pattern, p0);
+            }
+
+            @Override
+            public void message(String pattern, Object p0, Object p1, Object p2) {
+                logger.info(pattern, p0, p1, p2);
+            }
+
+            @Override
+            public void message(String pattern, Object p0, Object p1, Object p2, Object p3) {
+                logger.info(pattern, p0, p1, p2, p3);
+            }
+
+            @Override
+            public void write(CharSequence text) {
+                boards.write(text);
+            }
+        };
+    }
+
+    /**
+     * Appends everything to a buffer, each message formatted on a line of its
+     * own
+     */
+    private static final class TextOutput implements Output {
+        private StringBuilder buffer;
+
+        @Override
+        public void message(String pattern) {
+            buffer.append(pattern).append(NEWLINE);
+        }
+
+        @Override
+        public void message(String pattern, Object p0) {
+            int i = literal(pattern, 0);
+            parameter(p0);
+            end(pattern, i);
+        }
+
+        @Override
+        public void message(String pattern, Object p0, Object p1, Object p2) {
+            int i = literal(pattern, 0);
+            parameter(p0);
+            i = literal(pattern, i);
+            parameter(p1);
+            i = literal(pattern, i);
+            parameter(p2);
+            end(pattern, i);
+        }
+
+        @Override
+        public void message(String pattern, Object p0, Object p1, Object p2, Object p3) {
+            int i = literal(pattern, 0);
+            parameter(p0);
+            i = literal(pattern, i);
+            parameter(p1);
+            i = literal(pattern, i);
+            parameter(p2);
+            i = literal(pattern, i);
+            parameter(p3);
+            end(pattern, i);
+        }
+
+        @Override
+        public void write(CharSequence text) {
+            buffer.append(text);
+        }
+
+        /**
+         * Appends the pattern up to its next "{}"
+         *
+         * @return Where the pattern goes on after it
+         */
+        private int literal(String pattern, int from) {
+            int at = pattern.indexOf("{}", from);
+            if (at < 0)
+                at = pattern.length();
+            buffer.append(pattern, from, at);
+            return Math.min(at + 2, pattern.length());
+        }
+
+        private void parameter(Object p) {
+            if (p instanceof CharSequence)
+                buffer.append((CharSequence) p);
+            else
+                buffer.append(p);
+        }
+
+        private void end(String pattern, int from) {
+            buffer.append(pattern, from, pattern.length()).append(NEWLINE);
+        }
+    }
+
+    /**
+     * @param in A source of input
+     * @return A reader of that input, knowing the commands and the kinds of ships
+     */
+    static CommandReader newReader(InputStream in) {
+        return new CommandReader(in, NOVAFROTA, DESISTIR, RAJADA, VERTIROS, BATOTA, STATUS, AUTOMATICO,
+                ShipType.GALLEON.getKind(), ShipType.FRIGATE.getKind(), ShipType.CARRACK.getKind(),
+                ShipType.CARAVEL.getKind(), ShipType.BARGE.getKind());
+    }
+
+    // -----------------------------------------------------
+
+    private final long id;
+    private final long seed;
+    private final Mode mode;
+    private final FleetGenerator generator;
+    private final TextOutput text;
+    private BoardRenderer renderer;
+
+    /**
+     * Where the output of the running command goes
+     */
+    private Output out;
+
+    private Fleet fleet;
+    private Game game;
+    private ShootingStrategy computer;
+    private Output shots;
+    private int games;
+    private long commands;
+
+    /**
+     * A session with the commands of the GameServer
+     *
+     * @param id   The number of the session
+     * @param seed The seed of its random fleets and of its computer player
+     */
+    public GameSession(long id, long seed) {
+        this(id, seed, Mode.SERVER);
+    }
+
+    /**
+     * @param id   The number of the session
+     * @param seed The seed of its random fleets and of its computer player
+     * @param mode The commands it understands
+     */
+    public GameSession(long id, long seed, Mode mode) {
+        this.id = id;
+        this.seed = seed;
+        this.mode = mode;
+        this.generator = new FleetGenerator(seed);
+        this.text = new TextOutput();
+        this.renderer = new BoardRenderer(board -> out.write(board));
+        this.games = 0;
+        this.commands = 0;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @param shots Where the messages about each shot of the computer go, apart
+     *              from the output of the commands (null to keep them in it)
+     */
+    public void setShotOutput(Output shots) {
+        this.shots = shots;
+    }
+
+    /**
+     * @param renderer Where the boards and lists of ships printed by the
+     *                 commands go, apart from their other output (by default,
+     *                 they are written to it)
+     */
+    public void setRenderer(BoardRenderer renderer) {
+        this.renderer = renderer;
+        if (fleet != null)
+            fleet.setRenderer(renderer);
+        if (game != null)
+            game.setRenderer(renderer);
+    }
+
+    /**
+     * @return The game being played, or null before the first fleet
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return The number of commands run so far
+     */
+    public long getCommands() {
+        return commands;
+    }
+
+    /**
+     * Runs the next command
+     *
+     * @param in     Where the command and its arguments are read from
+     * @param output Where its output is appended, a line at a time
+     * @return false if the command was the last one (desisto)
+     * @throws NoSuchElementException If there is no command
+     */
+    public boolean execute(CommandReader in, StringBuilder output) {
+        text.buffer = output;
+        try {
+            return execute(in, text);
+        } finally {
+            text.buffer = null;
+        }
+    }
+
+    /**
+     * Runs the next command
+     *
+     * @param in     Where the command and its arguments are read from
+     * @param output Where its output goes
+     * @return false if the command was the last one (desisto)
+     * @throws NoSuchElementException If there is no command
+     */
+    public boolean execute(CommandReader in, Output output) {
+        String command = in.next();
+        out = output;
+        commands++;
+        if (!mode.accepts(command)) {
+            // The other commands are unknown in this mode
+            out.message(mode.unknown);
+            out = null;
+            return true;
+        }
+        try {
+            switch (command) {
+                case NOVAFROTA:
+                    newFleet(in);
+                    break;
+                case STATUS:
+                    if (fleet != null)
+                        fleet.printStatus();
+                    break;
+                case BATOTA:
+                    if (mode == Mode.CHEATING)
+                        out.message("{}", fleet);
+                    else if (game != null)
+                        game.printFleet();
+                    break;
+                case RAJADA:
+                    if (game != null) {
+                        salvo(in);
+                        status();
+                        if (game.getRemainingShips() == 0)
+                            out.message("Maldito sejas, Java Sparrow, eu voltarei, glub glub glub...");
+                    }
+                    break;
+                case AUTOMATICO:
+                    if (game != null) {
+                        computerSalvo();
+                        status();
+                    }
+                    break;
+                case VERTIROS:
+                    if (game != null)
+                        game.printValidShots();
+                    break;
+                case DESISTIR:
+                    out.message("Bons ventos!");
+                    return false;
+                default:
+                    out.message(mode.unknown);
+            }
+        } catch (NoSuchElementException e) {
+            // a missing argument, or one that is not an int (InputMismatchException)
+            out.message("Argumentos invalidos para {}!", command);
+        } finally {
+            out = null;
+        }
+        return true;
+    }
+
+    /**
+     * Builds a new fleet: a random one when the mode has them and no ships
+     * follow, else one of the ships read, as many as the fleet takes, up to the
+     * next command or the end of the input (unknown ships and those that do not
+     * fit are reported, and left out)
+     */
+    private void newFleet(CommandReader in) {
+        Fleet next;
+        if (mode.hasRandomFleets() && (!in.hasNext() || isCommand(in.peek()))) {
+            next = generator.nextFleet();
+        } else {
+            next = new BitboardFleet();
+            while (in.hasNext() && !isCommand(in.peek())
+                    && next.getShips().size() < next.getBoardSpec().getFleetSize()) {
+                IShip s = Tasks.readShip(in);
+                if (s == null)
+                    out.message("Navio desconhecido!");
+                else if (!next.addShip(s))
+                    out.message("Falha na criacao de {} {} {}", s.getCategory(), s.getBearing(), s.getPosition());
+            }
+        }
+        out.message("{} navios adicionados com sucesso!", box(next.getShips().size()));
+        fleet = next;
+        fleet.setRenderer(renderer);
+        game = new Game(fleet);
+        game.setRenderer(renderer);
+        computer = new DensityStrategy(fleet.getBoardSpec(), seed + games++);
+    }
+
+    /**
+     * @param token A token, as read by a reader from newReader
+     * @return true if it is a command (of any mode)
+     */
+    private static boolean isCommand(String token) {
+        return Mode.SERVER.accepts(token);
+    }
+
+    private void salvo(CommandReader in) {
+        IPosition[] salvo = new IPosition[NUMBER_SHOTS];
+        for (int i = 0; i < NUMBER_SHOTS; i++)
+            salvo[i] = Tasks.readPosition(in);
+        for (IPosition pos : salvo) {
+            int code = game.fireAt(pos);
+            // the code of a sinking shot carries the index of the ship sunk
+            if (ShotOutcome.of(code) == ShotOutcome.SUNK)
+                out.message("Mas... mas... {}s nao sao a prova de bala? :-(",
+                        fleet.getShips().get(ShotOutcome.shipIndex(code)).getCategory());
+        }
+    }
+
+    private void computerSalvo() {
+        for (int i = 0; i < NUMBER_SHOTS && game.getRemainingShips() > 0; i++) {
+            IPosition pos = computer.nextShot();
+            int hits = game.getHits();
+            IShip sh = game.fire(pos);
+            computer.shotResult(pos, game.getHits() > hits, sh);
+            Output shot = shots == null ? out : shots;
+            shot.message("Computador dispara em {}", pos);
+            if (sh != null)
+                shot.message("Afundei um(a) {}!", sh.getCategory());
+        }
+    }
+
+    private void status() {
+        out.message("Hits: {} Inv: {} Rep: {} Restam {} navios.", box(game.getHits()), box(game.getInvalidShots()),
+                box(game.getRepeatedShots()), box(game.getRemainingShips()));
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The statistics and valid shots of a game at a single instant. Snapshots are
+ * immutable, so they can be handed to any number of readers (e.g. spectators)
+ * while the game goes on.
+ */
+public final class GameSnapshot {
+    private final List<IPosition> shots;
+    private final long hits;
+    private final long sinks;
+    private final long invalidShots;
+    private final long repeatedShots;
+    private final int remainingShips;
+
+    GameSnapshot(List<IPosition> shots, long hits, long sinks, long invalidShots, long repeatedShots,
+                 int remainingShips) {
+        this.shots = Collections.unmodifiableList(shots);
+        this.hits = hits;
+        this.sinks = sinks;
+        this.invalidShots = invalidShots;
+        this.repeatedShots = repeatedShots;
+        this.remainingShips = remainingShips;
+    }
+
+    /**
+     * @return The valid shots fired, in the order they were resolved (read-only)
+     */
+    public List<IPosition> getShots() {
+        return shots;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getSunkShips() {
+        return sinks;
+    }
+
+    public long getInvalidShots() {
+        return invalidShots;
+    }
+
+    public long getRepeatedShots() {
+        return repeatedShots;
+    }
+
+    public int getRemainingShips() {
+        return remainingShips;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Tiros: %d Acertos: %d Afundados: %d Inv: %d Rep: %d Restam: %d", shots.size(), hits,
+                sinks, invalidShots, repeatedShots, remainingShips);
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.List;
+
+/**
+ * An immutable state of a game: the cells fired at, the cells hit, the damage
+ * of each ship and the shot counters, with the same rules as {@link Game}.
+ * Firing returns a new state and leaves the old one untouched, sharing with it
+ * everything but the few nodes of the bitboards on the path of the shot, so a
+ * state never needs to be copied: keeping a reference is enough to undo, to
+ * replay from any point, or to explore alternatives in a search tree.
+ * <p>
+ * The layout of the fleet is captured once, when the initial state is built,
+ * and shared by all the states derived from it.
+ */
+public final class GameState {
+    /**
+     * The part of a game that never changes: the board and where the ships are
+     */
+    private static final class Layout {
+        private final BoardSpec spec;
+        /** Width of the grid of cells accepted as shots (0..width inclusive) */
+        private final int gridWidth;
+        /** The index of the ship at each occupied cell */
+        private final CellIndex ships;
+        private final int[] sizes;
+
+        private Layout(BoardSpec spec, List<IShip> fleet) {
+            this.spec = spec;
+            this.gridWidth = spec.getWidth() + 1;
+            this.ships = new CellIndex();
+            this.sizes = new int[fleet.size()];
+            for (int i = 0; i < sizes.length; i++)
+                for (IPosition p : fleet.get(i).getPositions())
+                    if (spec.isInside(p.getRow(), p.getColumn())) {
+                        ships.put(spec.index(p.getRow(), p.getColumn()), i);
+                        sizes[i]++;
+                    }
+        }
+    }
+
+    /**
+     * @param fleet A fleet
+     * @return The state of a new game against the ships of that fleet (ignoring
+     * any damage they may already have)
+     */
+    public static GameState of(IFleet fleet) {
+        Layout layout = new Layout(fleet.getBoardSpec(), fleet.getShips());
+        int floating = 0;
+        for (int size : layout.sizes)
+            if (size > 0)
+                floating++;
+        BoardSpec spec = layout.spec;
+        return new GameState(layout, PersistentBitSet.empty((spec.getHeight() + 1) * layout.gridWidth),
+                PersistentBitSet.empty(spec.getCells()), new int[layout.sizes.length], 0, 0, 0, 0, 0, floating,
+                ShotOutcome.MISS.code());
+    }
+
+    /**
+     * @param fleet A fleet
+     * @param shots The shots to fire, in order
+     * @return The state of a new game against that fleet after those shots
+     */
+    public static GameState replay(IFleet fleet, List<IPosition> shots) {
+        GameState state = of(fleet);
+        for (IPosition shot : shots)
+            state = state.fire(shot);
+        return state;
+    }
+
+    // -----------------------------------------------------
+
+    private final Layout layout;
+    private final PersistentBitSet fired;
+    private final PersistentBitSet hit;
+
+    /**
+     * Hits taken by each ship, shared with the previous state unless the last
+     * shot hit a ship
+     */
+    private final int[] damage;
+
+    private final int validShots;
+    private final int hits;
+    private final int sinks;
+    private final int invalidShots;
+    private final int repeatedShots;
+    private final int floating;
+    private final int lastOutcome;
+
+    private GameState(Layout layout, PersistentBitSet fired, PersistentBitSet hit, int[] damage, int validShots,
+                      int hits, int sinks, int invalidShots, int repeatedShots, int floating, int lastOutcome) {
+        this.layout = layout;
+        this.fired = fired;
+        this.hit = hit;
+        this.damage = damage;
+        this.validShots = validShots;
+        this.hits = hits;
+        this.sinks = sinks;
+        this.invalidShots = invalidShots;
+        this.repeatedShots = repeatedShots;
+        this.floating = floating;
+        this.lastOutcome = lastOutcome;
+    }
+
+    /**
+     * @param pos The position to fire at
+     * @return The state after the shot
+     */
+    public GameState fire(IPosition pos) {
+        return fire(pos.getRow(), pos.getColumn());
+    }
+
+    /**
+     * @param row    The row to fire at
+     * @param column The column to fire at
+     * @return The state after the shot
+     */
+    public GameState fire(int row, int column) {
+        BoardSpec spec = layout.spec;
+        if (row < 0 || row > spec.getHeight() || column < 0 || column > spec.getWidth())
+            return new GameState(layout, fired, hit, damage, validShots, hits, sinks, invalidShots + 1,
+                    repeatedShots, floating, ShotOutcome.INVALID.code());
+        int gridCell = row * layout.gridWidth + column;
+        if (fired.get(gridCell))
+            return new GameState(layout, fired, hit, damage, validShots, hits, sinks, invalidShots,
+                    repeatedShots + 1, floating, ShotOutcome.REPEATED.code());
+
+        PersistentBitSet nextFired = fired.set(gridCell);
+        int ship = spec.isInside(row, column) ? layout.ships.get(spec.index(row, column)) : -1;
+        if (ship < 0)
+            return new GameState(layout, nextFired, hit, damage, validShots + 1, hits, sinks, invalidShots,
+                    repeatedShots, floating, ShotOutcome.MISS.code());
+
+        int[] nextDamage = damage.clone();
+        nextDamage[ship]++;
+        PersistentBitSet nextHit = hit.set(spec.index(row, column));
+        if (nextDamage[ship] < layout.sizes[ship])
+            return new GameState(layout, nextFired, nextHit, nextDamage, validShots + 1, hits + 1, sinks,
+                    invalidShots, repeatedShots, floating, ShotOutcome.HIT.code(ship));
+        return new GameState(layout, nextFired, nextHit, nextDamage, validShots + 1, hits + 1, sinks + 1,
+                invalidShots, repeatedShots, floating - 1, ShotOutcome.SUNK.code(ship));
+    }
+
+    public BoardSpec getBoardSpec() {
+        return layout.spec;
+    }
+
+    /**
+     * @return The int-coded outcome of the shot that led to this state (see
+     * ShotOutcome), MISS for an initial state
+     */
+    public int getLastOutcome() {
+        return lastOutcome;
+    }
+
+    /**
+     * @param row    The row of a cell
+     * @param column The column of a cell
+     * @return true if a valid shot was fired at the cell
+     */
+    public boolean isFired(int row, int column) {
+        BoardSpec spec = layout.spec;
+        if (row < 0 || row > spec.getHeight() || column < 0 || column > spec.getWidth())
+            return false;
+        return fired.get(row * layout.gridWidth + column);
+    }
+
+    /**
+     * @param row    The row of a cell
+     * @param column The column of a cell
+     * @return true if a ship was hit at the cell
+     */
+    public boolean isHit(int row, int column) {
+        BoardSpec spec = layout.spec;
+        return spec.isInside(row, column) && hit.get(spec.index(row, column));
+    }
+
+    /**
+     * @return The number of ships of the fleet
+     */
+    public int getShipCount() {
+        return damage.length;
+    }
+
+    /**
+     * @param ship The index of a ship in the list of ships of the fleet
+     * @return The number of cells of that ship that were hit
+     */
+    public int getDamage(int ship) {
+        return damage[ship];
+    }
+
+    /**
+     * @param ship The index of a ship in the list of ships of the fleet
+     * @return true if every cell of that ship was hit
+     */
+    public boolean isSunk(int ship) {
+        return layout.sizes[ship] > 0 && damage[ship] == layout.sizes[ship];
+    }
+
+    /**
+     * @return The number of shots at cells not fired at before
+     */
+    public int getValidShots() {
+        return validShots;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getSunkShips() {
+        return sinks;
+    }
+
+    public int getInvalidShots() {
+        return invalidShots;
+    }
+
+    public int getRepeatedShots() {
+        return repeatedShots;
+    }
+
+    public int getRemainingShips() {
+        return floating;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+
+/**
+ * The shot counters of a game, kept in primitive fields so that counting a shot
+ * never allocates. Besides the totals, hits and sinks are broken down by type
+ * of ship (ships whose category is not a {@link ShipType} only count in the
+ * totals).
+ * <p>
+ * A game updates its own block; readers get copies through {@link #snapshot()}.
+ */
+public final class GameStats {
+    private int invalidShots;
+    private int repeatedShots;
+    private int misses;
+    private int hits;
+    private int sinks;
+    private final int[] hitsByType;
+    private final int[] sinksByType;
+
+    GameStats() {
+        hitsByType = new int[ShipType.values().length];
+        sinksByType = new int[ShipType.values().length];
+    }
+
+    private GameStats(GameStats other) {
+        invalidShots = other.invalidShots;
+        repeatedShots = other.repeatedShots;
+        misses = other.misses;
+        hits = other.hits;
+        sinks = other.sinks;
+        hitsByType = other.hitsByType.clone();
+        sinksByType = other.sinksByType.clone();
+    }
+
+    /**
+     * Counts a shot
+     *
+     * @param outcome The outcome of the shot
+     * @param type    The type of the ship hit, or null if none was hit (or its
+     *                type is unknown)
+     */
+    void record(ShotOutcome outcome, ShipType type) {
+        switch (outcome) {
+            case INVALID:
+                invalidShots++;
+                break;
+            case REPEATED:
+                repeatedShots++;
+                break;
+            case MISS:
+                misses++;
+                break;
+            case SUNK:
+                sinks++;
+                if (type != null)
+                    sinksByType[type.ordinal()]++;
+                // a sinking shot is also a hit
+                hit(type);
+                break;
+            case HIT:
+                hit(type);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void hit(ShipType type) {
+        hits++;
+        if (type != null)
+            hitsByType[type.ordinal()]++;
+    }
+
+    /**
+     * @return A copy of the counters as they are now
+     */
+    public GameStats snapshot() {
+        return new GameStats(this);
+    }
+
+    public int getInvalidShots() {
+        return invalidShots;
+    }
+
+    public int getRepeatedShots() {
+        return repeatedShots;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getSinks() {
+        return sinks;
+    }
+
+    /**
+     * @return The number of shots at cells inside the board not fired at before
+     */
+    public int getValidShots() {
+        return misses + hits;
+    }
+
+    /**
+     * @param type A type of ship
+     * @return The number of hits on ships of that type
+     */
+    public int getHits(ShipType type) {
+        return hitsByType[type.ordinal()];
+    }
+
+    /**
+     * @param type A type of ship
+     * @return The number of ships of that type sunk
+     */
+    public int getSinks(ShipType type) {
+        return sinksByType[type.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof GameStats))
+            return false;
+        GameStats s = (GameStats) other;
+        return invalidShots == s.invalidShots && repeatedShots == s.repeatedShots && misses == s.misses
+                && hits == s.hits && sinks == s.sinks && Arrays.equals(hitsByType, s.hitsByType)
+                && Arrays.equals(sinksByType, s.sinksByType);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * hits + sinks) + Arrays.hashCode(hitsByType);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Acertos: %d Afundados: %d Falhados: %d Inv: %d Rep: %d", hits, sinks, misses,
+                invalidShots, repeatedShots);
+    }
+}
@@ -9,6 +9,15 @@ public interface IFleet {
     Integer BOARD_SIZE = 10;
     Integer FLEET_SIZE = 10;
 
+    /**
+     * @return The dimensions of the board and the composition of a complete fleet
+     */
+    BoardSpec getBoardSpec();
+
+    /**
+     * @return The ships of the fleet, in the order they were added, as a
+     * read-only list (ships are added through addShip)
+     */
     List<IShip> getShips();
 
     boolean addShip(IShip s);
@@ -17,6 +26,8 @@ public interface IFleet {
 
     List<IShip> getFloatingShips();
 
+    int getFloatingCount();
+
     IShip shipAt(IPosition pos);
 
     void printStatus();
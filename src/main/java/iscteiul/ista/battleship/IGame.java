@@ -8,6 +8,35 @@ import java.util.List;
 public interface IGame {
     IShip fire(IPosition pos);
 
+    /**
+     * Fires a shot, like fire, without allocating anything for the result
+     *
+     * @param pos The position to fire at
+     * @return The int-coded outcome of the shot, see ShotOutcome
+     */
+    int fireAt(IPosition pos);
+
+    /**
+     * Fires a whole salvo, as if each shot were fired in turn, and sums up the
+     * outcomes of its shots
+     *
+     * @param salvo The positions to fire at
+     * @return The counts of the outcomes of the shots of the salvo
+     */
+    SalvoResult fireSalvo(IPosition... salvo);
+
+    /**
+     * Fires at every cell of a bitmask, in increasing order of cell index
+     *
+     * @param cellMask A bitmask of cells, indexed as in BoardSpec.index; bits past
+     *                 the last cell of the board count as invalid shots
+     * @return The counts of the outcomes of the shots of the salvo
+     */
+    SalvoResult fireSalvo(long[] cellMask);
+
+    /**
+     * @return The valid shots fired so far, in order, as a read-only list
+     */
     List<IPosition> getShots();
 
     int getRepeatedShots();
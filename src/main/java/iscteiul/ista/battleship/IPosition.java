@@ -7,12 +7,48 @@ package iscteiul.ista.battleship;
  * @author fba
  */
 public interface IPosition {
+    /**
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return An immutable, interned position for that cell
+     */
+    static IPosition of(int row, int column) {
+        return Coordinate.of(row, column);
+    }
+
+    /**
+     * @param spec  The board
+     * @param index The index of the cell on that board, as given by
+     *              {@link BoardSpec#index(int, int)}
+     * @return An immutable position for that cell, interned if it is one of the
+     *         standard board
+     */
+    static IPosition of(BoardSpec spec, int index) {
+        return Coordinate.of(spec.row(index), spec.column(index));
+    }
+
+    /**
+     * The hash code every implementation must return, so that equal positions of
+     * different classes hash alike. It depends only on the coordinates (never on
+     * hit or occupied state) and is a perfect hash for rows and columns in the
+     * range of a short.
+     *
+     * @param row    The row of the cell
+     * @param column The column of the cell
+     * @return The hash code of a position with those coordinates
+     */
+    static int hash(int row, int column) {
+        return (row << 16) | (column & 0xFFFF);
+    }
+
     int getRow();
 
     int getColumn();
 
     boolean equals(Object other);
 
+    int hashCode();
+
     boolean isAdjacentTo(IPosition other);
 
     void occupy();
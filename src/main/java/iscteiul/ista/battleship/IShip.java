@@ -10,6 +10,9 @@ public interface IShip {
 
     Integer getSize();
 
+    /**
+     * @return The positions of the ship, as a read-only list
+     */
     List<IPosition> getPositions();
 
     IPosition getPosition();
@@ -18,6 +21,8 @@ public interface IShip {
 
     boolean stillFloating();
 
+    BoundingBox getBoundingBox();
+
     int getTopMostPos();
 
     int getBottomMostPos();
@@ -0,0 +1,153 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a {@link GameJournal} back, game by game, replaying each one into a
+ * fresh {@link Game}. Every shot is fired again and its outcome checked against
+ * the one recorded, so a game that replays without errors is the game that was
+ * played.
+ */
+public final class JournalReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final Compass[] BEARINGS = Compass.values();
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final String name;
+
+    /**
+     * @param path The file of the journal
+     * @throws IOException If the file cannot be opened, or is not a journal
+     */
+    public JournalReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.flip();
+        name = path.toString();
+        try {
+            if (!fill(Integer.BYTES) || buffer.getInt() != GameJournal.MAGIC)
+                throw new IOException("ERROR! " + name + " is not a game journal");
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays the next game of the journal
+     *
+     * @return The game, with its fleet placed and every shot recorded for it
+     * fired, or null if there are no more games
+     * @throws IOException If the journal cannot be read, is truncated, or
+     *                     records a shot whose outcome differs from the replay
+     */
+    public Game nextGame() throws IOException {
+        if (!fill(1))
+            return null;
+        if (getVarint() != GameJournal.FLEET)
+            throw new IOException("ERROR! " + name + ": a game must start with its fleet");
+        Fleet fleet = readFleet();
+        Game game = new Game(fleet);
+        BoardSpec spec = fleet.getBoardSpec();
+        int gridWidth = spec.getWidth() + 1;
+
+        while (fill(1) && (buffer.get(buffer.position()) & 1) == GameJournal.SHOT) {
+            int code = getVarint() >>> 1;
+            int cell = getVarint();
+            int row;
+            int column;
+            if (cell > 0) {
+                row = (cell - 1) / gridWidth;
+                column = (cell - 1) % gridWidth;
+            } else {
+                row = GameJournal.unzigzag(getVarint());
+                column = GameJournal.unzigzag(getVarint());
+            }
+            int replayed = game.fireAt(IPosition.of(row, column));
+            if (replayed != code)
+                throw new IOException("ERROR! " + name + ": shot at " + row + " " + column + " recorded as "
+                        + ShotOutcome.of(code) + " but replayed as " + ShotOutcome.of(replayed));
+        }
+        return game;
+    }
+
+    private Fleet readFleet() throws IOException {
+        int height = getVarint();
+        int width = getVarint();
+        ShipType[] composition = new ShipType[getVarint()];
+        for (int i = 0; i < composition.length; i++)
+            composition[i] = TYPES[getByte(TYPES.length)];
+        Fleet fleet;
+        try {
+            fleet = new Fleet(new BoardSpec(height, width, composition));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("ERROR! " + name + ": invalid board", e);
+        }
+
+        int ships = getVarint();
+        for (int i = 0; i < ships; i++) {
+            ShipType type = TYPES[getByte(TYPES.length)];
+            Compass bearing = BEARINGS[getByte(BEARINGS.length)];
+            int row = GameJournal.unzigzag(getVarint());
+            int column = GameJournal.unzigzag(getVarint());
+            if (!fleet.addShip(type.build(bearing, new Position(row, column))))
+                throw new IOException("ERROR! " + name + ": " + type + " at " + row + " " + column
+                        + " does not fit in the fleet");
+        }
+        return fleet;
+    }
+
+    /**
+     * @param bytes A number of bytes (at most the size of the buffer)
+     * @return true if that many bytes are buffered, reading more if needed;
+     * false if the journal ends before
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return true;
+        buffer.compact();
+        while (buffer.position() < bytes)
+            if (channel.read(buffer) < 0)
+                break;
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    private int getByte(int limit) throws IOException {
+        if (!fill(1))
+            throw new IOException("ERROR! " + name + " is truncated");
+        int value = buffer.get() & 0xFF;
+        if (value >= limit)
+            throw new IOException("ERROR! " + name + ": invalid value " + value);
+        return value;
+    }
+
+    private int getVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            if (!fill(1))
+                throw new IOException("ERROR! " + name + " is truncated");
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("ERROR! " + name + ": malformed varint");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
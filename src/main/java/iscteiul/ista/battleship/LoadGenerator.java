@@ -0,0 +1,222 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Puts a {@link GameServer} under load: opens many connections, all of them
+ * kept open until the end, and plays a game on each, a few threads taking turns
+ * over the connections so that every game stays in the middle of play at once.
+ * Each game gets a random fleet ("nova"), then a number of rounds, each a salvo
+ * of the player at random cells ("rajada") and one of the computer ("auto"),
+ * and is given up ("desisto").
+ */
+public final class LoadGenerator {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int NUMBER_SHOTS = 3;
+
+    /**
+     * What happened during a run
+     */
+    public static final class Report {
+        private final int sessions;
+        private final long commands;
+        private final long errors;
+        private final long nanos;
+
+        private Report(int sessions, long commands, long errors, long nanos) {
+            this.sessions = sessions;
+            this.commands = commands;
+            this.errors = errors;
+            this.nanos = nanos;
+        }
+
+        public int getSessions() {
+            return sessions;
+        }
+
+        /**
+         * @return The number of commands answered
+         */
+        public long getCommands() {
+            return commands;
+        }
+
+        /**
+         * @return The number of failed connections and of commands the server
+         *         did not accept
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return The time taken to connect and to play all the games
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getCommandsPerSecond() {
+            return nanos == 0 ? 0 : commands * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sessoes: %d Comandos: %d Erros: %d Tempo: %.1f ms (%.0f comandos/s)", sessions,
+                    commands, errors, nanos / 1e6, getCommandsPerSecond());
+        }
+    }
+
+    // -----------------------------------------------------
+
+    private final InetSocketAddress address;
+    private final int sessions;
+    private final int threads;
+    private final int rounds;
+
+    /**
+     * @param address  The address of the server
+     * @param sessions The number of games played at once
+     * @param threads  The number of threads playing them
+     * @param rounds   The number of rounds of each game
+     */
+    public LoadGenerator(InetSocketAddress address, int sessions, int threads, int rounds) {
+        if (sessions < 0 || threads <= 0 || rounds < 0)
+            throw new IllegalArgumentException("ERROR! invalid load: " + sessions + " sessions, " + threads
+                    + " threads, " + rounds + " rounds");
+        this.address = address;
+        this.sessions = sessions;
+        this.threads = threads;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Plays all the games
+     *
+     * @param seed The seed of the shots of the player
+     * @return What happened
+     * @throws InterruptedException If interrupted while waiting for the games
+     */
+    public Report run(long seed) throws InterruptedException {
+        LongAdder commands = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+
+        List<GameClient> clients = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            try {
+                clients.add(new GameClient(address));
+            } catch (IOException e) {
+                LOGGER.debug("Falha na ligacao: {}", e.getMessage());
+                errors.increment();
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> players = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                List<GameClient> mine = new ArrayList<>();
+                for (int i = t; i < clients.size(); i += threads)
+                    mine.add(clients.get(i));
+                SplittableRandom random = new SplittableRandom(Simulator.mix(seed + t));
+                players.add(pool.submit(() -> play(mine, random, commands, errors)));
+            }
+            for (Future<?> player : players)
+                player.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("ERROR! load generator failed", e.getCause());
+        } finally {
+            pool.shutdown();
+            for (GameClient client : clients)
+                close(client);
+        }
+        return new Report(clients.size(), commands.sum(), errors.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Plays the games of some connections, a command of each in turn
+     */
+    private void play(List<GameClient> clients, SplittableRandom random, LongAdder commands, LongAdder errors) {
+        List<GameClient> live = new ArrayList<>(clients);
+        send(live, () -> GameSession.NOVAFROTA, commands, errors);
+        for (int r = 0; r < rounds; r++) {
+            send(live, () -> salvo(random), commands, errors);
+            send(live, () -> GameSession.AUTOMATICO, commands, errors);
+        }
+        send(live, () -> GameSession.DESISTIR, commands, errors);
+    }
+
+    private static void send(List<GameClient> clients, Supplier<String> command,
+                             LongAdder commands, LongAdder errors) {
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            GameClient client = clients.get(i);
+            try {
+                String answer = client.send(command.get());
+                commands.increment();
+                if (answer.startsWith("Que comando") || answer.startsWith("Argumentos invalidos")
+                        || answer.startsWith("Erro!"))
+                    errors.increment();
+            } catch (IOException e) {
+                LOGGER.debug("Ligacao {} perdida: {}", box(client.getId()), e.getMessage());
+                errors.increment();
+                clients.remove(i);
+                close(client);
+            }
+        }
+    }
+
+    private static String salvo(SplittableRandom random) {
+        StringBuilder s = new StringBuilder(GameSession.RAJADA);
+        for (int i = 0; i < 2 * NUMBER_SHOTS; i++)
+            s.append(' ').append(random.nextInt(IFleet.BOARD_SIZE));
+        return s.toString();
+    }
+
+    private static void close(GameClient client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOGGER.debug("Falha ao fechar a ligacao {}: {}", box(client.getId()), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a server
+     *
+     * @param args The host and port of the server (by default, the local host and
+     *             {@value GameServer#DEFAULT_PORT}), the number of sessions (1000),
+     *             threads (8) and rounds (10)
+     * @throws InterruptedException If interrupted while running
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Logging.configure();
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        int rounds = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        Report report = new LoadGenerator(new InetSocketAddress(host, port), sessions, threads, rounds)
+                .run(System.nanoTime());
+        LOGGER.info("{}", report);
+    }
+}
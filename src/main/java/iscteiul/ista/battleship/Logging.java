@@ -0,0 +1,96 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * Chooses how the game logs. Interactive games keep the default, synchronous
+ * configuration (log4j2.xml). Batch runs (input piped from a script rather than
+ * typed at a console) use log4j2-batch.xml instead, with asynchronous loggers
+ * and without the per-shot messages, which are sent to a logger of their own so
+ * they can be switched off. In batch mode the boards of the tasks are logged
+ * too (see {@link #boardSink(Logger)}), so that they come out in order with the
+ * messages, which the background thread of the loggers writes later on.
+ */
+public final class Logging {
+    /**
+     * The configuration used in batch mode
+     */
+    public static final String BATCH_CONFIGURATION = "log4j2-batch.xml";
+
+    /**
+     * System property forcing batch mode on (true) or off (false)
+     */
+    public static final String BATCH_PROPERTY = "battleship.batch";
+
+    /**
+     * The logger of the messages about each single shot
+     */
+    static final String SHOTS = "iscteiul.ista.battleship.Tasks.shots";
+
+    /**
+     * The marker of the boards and lists of ships logged in batch mode, which
+     * the batch configuration prints as they are
+     */
+    static final Marker BOARD = MarkerManager.getMarker("BOARD");
+
+    private static final String CONFIGURATION_PROPERTY = "log4j2.configurationFile";
+
+    private Logging() {
+    }
+
+    /**
+     * @return true if the game runs in batch mode: as set by BATCH_PROPERTY, or
+     * else if there is no console (the input is piped or redirected)
+     */
+    public static boolean isBatch() {
+        String batch = System.getProperty(BATCH_PROPERTY);
+        if (batch != null)
+            return Boolean.parseBoolean(batch);
+        return System.console() == null;
+    }
+
+    /**
+     * Selects the batch configuration in batch mode, unless a configuration was
+     * given explicitly. Only has an effect if called before the first logger is
+     * created.
+     */
+    public static void configure() {
+        if (isBatch() && System.getProperty(CONFIGURATION_PROPERTY) == null)
+            System.setProperty(CONFIGURATION_PROPERTY, BATCH_CONFIGURATION);
+    }
+
+    /**
+     * @param logger The logger of the messages of a task
+     * @return Where its boards and lists of ships go: in batch mode, to the
+     *         logger itself, marked as BOARD, and else straight to System.out,
+     *         as the messages are logged synchronously
+     */
+    static BoardRenderer.Sink boardSink(Logger logger) {
+        return isBatch() ? BoardRenderer.logSink(logger, BOARD) : BoardRenderer.stdoutSink();
+    }
+
+    /**
+     * @return The logger of the messages about each single shot
+     */
+    static Logger shotLogger() {
+        return LogManager.getLogger(SHOTS);
+    }
+
+    /**
+     * Turns the messages about each single shot on or off, whatever the
+     * configuration
+     *
+     * @param enabled true to log each shot
+     */
+    public static void setShotLogging(boolean enabled) {
+        Configurator.setLevel(SHOTS, enabled ? Level.INFO : Level.OFF);
+    }
+}
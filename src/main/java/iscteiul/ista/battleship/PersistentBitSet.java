@@ -0,0 +1,81 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * An immutable set of bits: {@link #set(int)} returns a new set that shares all
+ * but one path of its structure with the old one. Bits are kept in leaves of
+ * LEAF_WORDS longs, under a trie of nodes with BRANCHES children; subtrees with
+ * no bit set are null, so an empty set takes no memory whatever its size.
+ */
+final class PersistentBitSet {
+    private static final int LEAF_WORDS = 8;
+    private static final int LEAF_SHIFT = 9;
+    private static final int BRANCH_SHIFT = 5;
+    private static final int BRANCHES = 1 << BRANCH_SHIFT;
+
+    /**
+     * @param bits The number of bits of the set
+     * @return A set of that many bits, none of them set
+     */
+    static PersistentBitSet empty(int bits) {
+        int leaves = (bits + (1 << LEAF_SHIFT) - 1) >>> LEAF_SHIFT;
+        int depth = 0;
+        for (long reach = 1; reach < leaves; reach *= BRANCHES)
+            depth++;
+        return new PersistentBitSet(null, depth);
+    }
+
+    // -----------------------------------------------------
+
+    /**
+     * A long[] leaf when depth is 0, an Object[] node otherwise, or null
+     */
+    private final Object root;
+    private final int depth;
+
+    private PersistentBitSet(Object root, int depth) {
+        this.root = root;
+        this.depth = depth;
+    }
+
+    /**
+     * @param bit The index of a bit
+     * @return true if the bit is set
+     */
+    boolean get(int bit) {
+        Object node = root;
+        for (int level = depth; level > 0 && node != null; level--)
+            node = ((Object[]) node)[childOf(bit, level)];
+        if (node == null)
+            return false;
+        return (((long[]) node)[(bit >>> 6) & (LEAF_WORDS - 1)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @param bit The index of a bit
+     * @return A set with that bit set as well (this set if it already was)
+     */
+    PersistentBitSet set(int bit) {
+        if (get(bit))
+            return this;
+        return new PersistentBitSet(set(root, bit, depth), depth);
+    }
+
+    private static Object set(Object node, int bit, int level) {
+        if (level == 0) {
+            long[] leaf = node == null ? new long[LEAF_WORDS] : ((long[]) node).clone();
+            leaf[(bit >>> 6) & (LEAF_WORDS - 1)] |= 1L << bit;
+            return leaf;
+        }
+        Object[] branch = node == null ? new Object[BRANCHES] : ((Object[]) node).clone();
+        int child = childOf(bit, level);
+        branch[child] = set(branch[child], bit, level - 1);
+        return branch;
+    }
+
+    private static int childOf(int bit, int level) {
+        return (bit >>> (LEAF_SHIFT + (level - 1) * BRANCH_SHIFT)) & (BRANCHES - 1);
+    }
+}
@@ -0,0 +1,286 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every legal placement of every type of ship on a board. Each type has a few
+ * distinct shapes (one per bearing of the {@link ShapeTable}, minus those that
+ * coincide, e.g. a caravel heading north or south), and a shape can be placed with its top left corner on
+ * any cell of a rectangle of the board. Placements are numbered shape by shape,
+ * row by row within that rectangle, so decoding one is plain arithmetic and the
+ * table takes no memory per cell, whatever the size of the board.
+ * <p>
+ * Bitmasks of cells have a bit per cell of the board, indexed as in
+ * {@link BoardSpec#index(int, int)}.
+ */
+public class PlacementTable {
+    private static final Compass[] BEARINGS = {Compass.NORTH, Compass.EAST, Compass.SOUTH, Compass.WEST};
+
+    private static PlacementTable defaultTable;
+
+    /**
+     * @return The table for the standard board, built on first use
+     */
+    public static synchronized PlacementTable getDefault() {
+        if (defaultTable == null)
+            defaultTable = new PlacementTable(BoardSpec.DEFAULT);
+        return defaultTable;
+    }
+
+    /**
+     * @param spec A board
+     * @return A table for that board, the default one if it has the standard
+     * dimensions (placements do not depend on the composition of the fleet)
+     */
+    public static PlacementTable of(BoardSpec spec) {
+        if (spec.getHeight() == BoardSpec.DEFAULT.getHeight() && spec.getWidth() == BoardSpec.DEFAULT.getWidth())
+            return getDefault();
+        return new PlacementTable(spec);
+    }
+
+    /**
+     * A shape of a type of ship, with offsets relative to its top left corner
+     */
+    private static final class Shape {
+        private Compass bearing;
+        /** Offset of the anchor of the ship from the top left corner */
+        private int anchorRow;
+        private int anchorColumn;
+        /** The rectangle of legal top left corners */
+        private int rows;
+        private int columns;
+        /** Index of its first placement */
+        private int first;
+        private int[] cellRows;
+        private int[] cellColumns;
+        /** The cell deltas row * width + column, for the board of the table */
+        private int[] cellDeltas;
+        private int[] haloRows;
+        private int[] haloColumns;
+    }
+
+    // -----------------------------------------------------
+
+    private final BoardSpec spec;
+    private final Shape[][] shapes;
+    private final int[] counts;
+
+    public PlacementTable() {
+        this(BoardSpec.DEFAULT);
+    }
+
+    /**
+     * @param spec The board where the ships are placed
+     */
+    public PlacementTable(BoardSpec spec) {
+        this.spec = spec;
+        int types = ShipType.values().length;
+        shapes = new Shape[types][];
+        counts = new int[types];
+        for (ShipType type : ShipType.values())
+            fill(type);
+    }
+
+    private void fill(ShipType type) {
+        List<Shape> typeShapes = new ArrayList<>();
+        List<long[]> keys = new ArrayList<>();
+        int first = 0;
+
+        for (Compass bearing : BEARINGS) {
+            int[] rows = ShapeTable.rows(type, bearing);
+            int[] columns = ShapeTable.columns(type, bearing);
+            int top = Arrays.stream(rows).min().getAsInt();
+            int left = Arrays.stream(columns).min().getAsInt();
+            int height = Arrays.stream(rows).max().getAsInt() - top + 1;
+            int width = Arrays.stream(columns).max().getAsInt() - left + 1;
+
+            long[] key = new long[rows.length];
+            for (int i = 0; i < key.length; i++)
+                key[i] = IPosition.hash(rows[i] - top, columns[i] - left);
+            Arrays.sort(key);
+            if (containsKey(keys, key))
+                continue;
+            keys.add(key);
+
+            Shape shape = new Shape();
+            shape.bearing = bearing;
+            shape.anchorRow = -top;
+            shape.anchorColumn = -left;
+            shape.rows = Math.max(0, spec.getHeight() - height + 1);
+            shape.columns = Math.max(0, spec.getWidth() - width + 1);
+            shape.first = first;
+            shape.cellRows = new int[rows.length];
+            shape.cellColumns = new int[rows.length];
+            shape.cellDeltas = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                shape.cellRows[i] = rows[i] - top;
+                shape.cellColumns[i] = columns[i] - left;
+                shape.cellDeltas[i] = shape.cellRows[i] * spec.getWidth() + shape.cellColumns[i];
+            }
+            fillHalo(shape, height, width);
+            typeShapes.add(shape);
+            first += shape.rows * shape.columns;
+        }
+
+        shapes[type.ordinal()] = typeShapes.toArray(new Shape[0]);
+        counts[type.ordinal()] = first;
+    }
+
+    private static void fillHalo(Shape shape, int shapeHeight, int shapeWidth) {
+        int height = shapeHeight + 2;
+        int width = shapeWidth + 2;
+        boolean[] halo = new boolean[height * width];
+        for (int i = 0; i < shape.cellRows.length; i++)
+            for (int r = shape.cellRows[i]; r <= shape.cellRows[i] + 2; r++)
+                for (int c = shape.cellColumns[i]; c <= shape.cellColumns[i] + 2; c++)
+                    halo[r * width + c] = true;
+
+        int n = 0;
+        for (boolean h : halo)
+            if (h)
+                n++;
+        shape.haloRows = new int[n];
+        shape.haloColumns = new int[n];
+        n = 0;
+        for (int i = 0; i < halo.length; i++)
+            if (halo[i]) {
+                shape.haloRows[n] = i / width - 1;
+                shape.haloColumns[n] = i % width - 1;
+                n++;
+            }
+    }
+
+    private static boolean containsKey(List<long[]> keys, long[] key) {
+        for (long[] k : keys)
+            if (Arrays.equals(k, key))
+                return true;
+        return false;
+    }
+
+    private Shape shapeOf(ShipType type, int placement) {
+        if (placement < 0 || placement >= counts[type.ordinal()])
+            throw new IndexOutOfBoundsException("ERROR! invalid placement " + placement + " of " + type);
+        Shape[] typeShapes = shapes[type.ordinal()];
+        int s = typeShapes.length - 1;
+        while (typeShapes[s].first > placement)
+            s--;
+        return typeShapes[s];
+    }
+
+    private static int topOf(Shape shape, int placement) {
+        return (placement - shape.first) / shape.columns;
+    }
+
+    private static int leftOf(Shape shape, int placement) {
+        return (placement - shape.first) % shape.columns;
+    }
+
+    /**
+     * @return The board of this table
+     */
+    public BoardSpec getBoardSpec() {
+        return spec;
+    }
+
+    /**
+     * @return The number of longs of each bitmask
+     */
+    public int getWords() {
+        return spec.getWords();
+    }
+
+    /**
+     * @param type A type of ship
+     * @return The number of distinct legal placements of that type
+     */
+    public int count(ShipType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @param bits      A bitmask (getWords() longs) of cells
+     * @return true if the placement occupies none of the given cells
+     */
+    public boolean isFree(ShipType type, int placement, long[] bits) {
+        Shape shape = shapeOf(type, placement);
+        int corner = spec.index(topOf(shape, placement), leftOf(shape, placement));
+        for (int delta : shape.cellDeltas) {
+            int cell = corner + delta;
+            if ((bits[cell >>> 6] & (1L << cell)) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the halo of a placement (its cells dilated by one, diagonals included)
+     * to a bitmask of forbidden cells
+     *
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @param bits      A bitmask (getWords() longs) of cells, to update
+     */
+    public void addHalo(ShipType type, int placement, long[] bits) {
+        Shape shape = shapeOf(type, placement);
+        int top = topOf(shape, placement);
+        int left = leftOf(shape, placement);
+        for (int i = 0; i < shape.haloRows.length; i++) {
+            int r = top + shape.haloRows[i];
+            int c = left + shape.haloColumns[i];
+            if (spec.isInside(r, c)) {
+                int cell = spec.index(r, c);
+                bits[cell >>> 6] |= 1L << cell;
+            }
+        }
+    }
+
+    /**
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @param cells     Filled with the indexes of the type.getSize() cells of the
+     *                  placement
+     */
+    public void cells(ShipType type, int placement, int[] cells) {
+        Shape shape = shapeOf(type, placement);
+        int corner = spec.index(topOf(shape, placement), leftOf(shape, placement));
+        for (int i = 0; i < shape.cellDeltas.length; i++)
+            cells[i] = corner + shape.cellDeltas[i];
+    }
+
+    /**
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @return The index of the anchor position of the placement
+     */
+    public int getAnchor(ShipType type, int placement) {
+        Shape shape = shapeOf(type, placement);
+        return spec.index(topOf(shape, placement) + shape.anchorRow, leftOf(shape, placement) + shape.anchorColumn);
+    }
+
+    /**
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @return The bearing of the placement
+     */
+    public Compass getBearing(ShipType type, int placement) {
+        return shapeOf(type, placement).bearing;
+    }
+
+    /**
+     * @param type      A type of ship
+     * @param placement The index of a placement of that type
+     * @return A new ship at that placement
+     */
+    public Ship build(ShipType type, int placement) {
+        Shape shape = shapeOf(type, placement);
+        return type.build(shape.bearing, new Position(topOf(shape, placement) + shape.anchorRow,
+                leftOf(shape, placement) + shape.anchorColumn));
+    }
+}
@@ -3,14 +3,18 @@
  */
 package iscteiul.ista.battleship;
 
-import java.util.Objects;
-
 public class Position implements IPosition {
     private int row;
     private int column;
     private boolean isOccupied;
     private boolean isHit;
 
+    /**
+     * The ship whose shape this position is part of, told the first time the
+     * position is hit (null for a position of no ship)
+     */
+    private Ship ship;
+
     /**
      *
      */
@@ -44,7 +48,7 @@ public class Position implements IPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(column, isHit, isOccupied, row);
+        return IPosition.hash(row, column);
     }
 
     /*
@@ -91,7 +95,18 @@ public class Position implements IPosition {
      */
     @Override
     public void shoot() {
-        isHit = true;
+        if (!isHit) {
+            isHit = true;
+            if (ship != null)
+                ship.positionHit();
+        }
+    }
+
+    /**
+     * @param ship The ship whose shape this position is part of
+     */
+    void setShip(Ship ship) {
+        this.ship = ship;
     }
 
     /*
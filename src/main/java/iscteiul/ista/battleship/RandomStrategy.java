@@ -0,0 +1,63 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fires at every cell of the board once, in a random (but seeded) order. It
+ * ignores the results of the shots, and serves as a baseline for smarter
+ * strategies.
+ */
+public class RandomStrategy implements ShootingStrategy {
+    private final BoardSpec spec;
+    private final int[] order;
+    private int next;
+
+    /**
+     * @param seed The seed of the random order of the shots
+     */
+    public RandomStrategy(long seed) {
+        this(BoardSpec.DEFAULT, seed);
+    }
+
+    /**
+     * @param spec The board to fire at
+     * @param seed The seed of the random order of the shots
+     */
+    public RandomStrategy(BoardSpec spec, long seed) {
+        this.spec = spec;
+        SplittableRandom random = new SplittableRandom(seed);
+        order = new int[spec.getCells()];
+        for (int i = 0; i < order.length; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        next = 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.ShootingStrategy#nextShot()
+     */
+    @Override
+    public IPosition nextShot() {
+        if (next == order.length)
+            throw new IllegalStateException("ERROR! every cell has already been fired at");
+        int cell = order[next++];
+        return Coordinate.of(spec.row(cell), spec.column(cell));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.ShootingStrategy#shotResult(battleship.IPosition, boolean, battleship.IShip)
+     */
+    @Override
+    public void shotResult(IPosition shot, boolean hit, IShip sunk) {
+        // the order of the shots is fixed
+    }
+}
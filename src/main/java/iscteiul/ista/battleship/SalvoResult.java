@@ -0,0 +1,67 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * The outcome of a whole salvo: how many of its shots hit a ship, sank one, were
+ * outside the board or were fired at a cell already fired at (before or earlier
+ * in the same salvo).
+ */
+public final class SalvoResult {
+    /**
+     * The result of a salvo without shots
+     */
+    public static final SalvoResult EMPTY = new SalvoResult(0, 0, 0, 0);
+
+    private final int hits;
+    private final int sinks;
+    private final int invalid;
+    private final int repeated;
+
+    public SalvoResult(int hits, int sinks, int invalid, int repeated) {
+        this.hits = hits;
+        this.sinks = sinks;
+        this.invalid = invalid;
+        this.repeated = repeated;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of ships sunk by the salvo
+     */
+    public int getSinks() {
+        return sinks;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public int getRepeated() {
+        return repeated;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof SalvoResult))
+            return false;
+        SalvoResult r = (SalvoResult) other;
+        return hits == r.hits && sinks == r.sinks && invalid == r.invalid && repeated == r.repeated;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((hits * 31 + sinks) * 31 + invalid) * 31 + repeated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Acertos: %d Afundados: %d Inv: %d Rep: %d", hits, sinks, invalid, repeated);
+    }
+}
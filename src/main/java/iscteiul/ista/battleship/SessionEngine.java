@@ -0,0 +1,204 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs interactive sessions: reads the commands of a {@link GameSession} from
+ * its input and writes the output of each command to its sink, until the
+ * player gives up ("desisto") or the input ends. This is the command loop of
+ * taskB, taskC and taskD, which run one session on the current thread.
+ * <p>
+ * An engine also runs many sessions at once, each in a thread of its own that
+ * spends most of its time blocked reading the input. On Java 21 and later
+ * these are virtual threads (looked up by reflection, so that the code still
+ * builds for Java 17), which makes tens of thousands of sessions cheap; before
+ * that they are daemon platform threads with small stacks.
+ */
+public final class SessionEngine implements Closeable {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * Stack size of the platform threads of the sessions: commands need little
+     */
+    private static final long STACK_SIZE = 1L << 18;
+
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreads("battleship-session-");
+
+    /**
+     * @param prefix The prefix of the names of the threads
+     * @return A factory of virtual threads, or null if this Java has none
+     */
+    static ThreadFactory virtualThreads(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param prefix The prefix of the names of the threads
+     * @return A factory of daemon platform threads with small stacks
+     */
+    static ThreadFactory platformThreads(String prefix) {
+        AtomicLong count = new AtomicLong();
+        return task -> {
+            Thread t = new Thread(null, task, prefix + count.getAndIncrement(), STACK_SIZE);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * @return true if sessions may run on virtual threads
+     */
+    public static boolean isVirtualAvailable() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Runs a session on the current thread, until the player gives up or the
+     * input ends
+     *
+     * @param session The session
+     * @param in      Where its commands are read from
+     * @param out     Where the output of the commands goes, as they run
+     */
+    public static void run(GameSession session, CommandReader in, GameSession.Output out) {
+        boolean playing = true;
+        while (playing && in.hasNext())
+            playing = session.execute(in, out);
+    }
+
+    /**
+     * Runs a session on the current thread, until the player gives up or the
+     * input ends
+     *
+     * @param session The session
+     * @param in      Where its commands are read from
+     * @param out     Where the output of each command is written, in a single
+     *                write (nothing is written for commands without output)
+     */
+    public static void run(GameSession session, CommandReader in, BoardRenderer.Sink out) {
+        StringBuilder answer = new StringBuilder(256);
+        boolean playing = true;
+        while (playing && in.hasNext()) {
+            answer.setLength(0);
+            playing = session.execute(in, answer);
+            if (answer.length() > 0)
+                out.write(answer);
+        }
+    }
+
+    // -----------------------------------------------------
+
+    private final ThreadFactory threads;
+    private final boolean virtual;
+    private final Set<Closeable> open;
+
+    /**
+     * An engine running its sessions on virtual threads if possible, else on
+     * platform threads
+     */
+    public SessionEngine() {
+        this(isVirtualAvailable() ? VIRTUAL_THREADS : platformThreads("battleship-session-"),
+                isVirtualAvailable());
+    }
+
+    /**
+     * @param threads Makes the threads of the sessions
+     */
+    public SessionEngine(ThreadFactory threads) {
+        this(threads, false);
+    }
+
+    private SessionEngine(ThreadFactory threads, boolean virtual) {
+        this.threads = threads;
+        this.virtual = virtual;
+        this.open = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * @return true if the sessions run on virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @return The number of sessions running
+     */
+    public int getActiveSessions() {
+        return open.size();
+    }
+
+    /**
+     * Starts a session in a thread of its own, with its input and output in
+     * UTF-8; both are closed when the session ends
+     *
+     * @param session The session
+     * @param in      Where its commands are read from
+     * @param out     Where its output goes
+     * @return Completes with the session once it ends, or with the exception
+     *         that ended it
+     */
+    public CompletableFuture<GameSession> start(GameSession session, InputStream in, OutputStream out) {
+        CompletableFuture<GameSession> result = new CompletableFuture<>();
+        Closeable streams = () -> {
+            try (in; out) {
+                // both closed, even if the first one fails
+            }
+        };
+        open.add(streams);
+        Thread t = threads.newThread(() -> {
+            try {
+                run(session, GameSession.newReader(in), BoardRenderer.streamSink(out, StandardCharsets.UTF_8));
+                result.complete(session);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                open.remove(streams);
+                close(streams);
+            }
+        });
+        t.start();
+        return result;
+    }
+
+    /**
+     * Ends the sessions running, by closing their streams
+     */
+    @Override
+    public void close() {
+        for (Closeable streams : open)
+            close(streams);
+    }
+
+    private static void close(Closeable streams) {
+        try {
+            streams.close();
+        } catch (IOException e) {
+            LOGGER.debug("Falha ao fechar uma sessao: {}", e.getMessage());
+        }
+    }
+}
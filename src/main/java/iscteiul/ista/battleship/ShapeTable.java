@@ -0,0 +1,70 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * The cells of every type of ship for every bearing, as row and column offsets
+ * from the anchor position of the ship, in the order the ship lists its
+ * positions. The offsets are computed once, and are read by the ship
+ * constructors and by {@link PlacementTable}, so the shapes are defined in a
+ * single place.
+ * <p>
+ * The arrays returned are shared and must not be modified.
+ */
+final class ShapeTable {
+    private static final int[][][] ROWS = new int[ShipType.values().length][Compass.values().length][];
+    private static final int[][][] COLUMNS = new int[ShipType.values().length][Compass.values().length][];
+
+    static {
+        for (Compass bearing : new Compass[]{Compass.NORTH, Compass.SOUTH, Compass.EAST, Compass.WEST}) {
+            boolean vertical = bearing == Compass.NORTH || bearing == Compass.SOUTH;
+            for (ShipType type : new ShipType[]{ShipType.FRIGATE, ShipType.CARRACK, ShipType.CARAVEL}) {
+                int[] along = new int[type.getSize()];
+                for (int i = 0; i < along.length; i++)
+                    along[i] = i;
+                define(type, bearing, vertical ? along : new int[along.length], vertical ? new int[along.length] : along);
+            }
+            define(ShipType.BARGE, bearing, new int[]{0}, new int[]{0});
+        }
+        define(ShipType.GALLEON, Compass.NORTH, new int[]{0, 0, 0, 1, 2}, new int[]{0, 1, 2, 1, 1});
+        define(ShipType.GALLEON, Compass.SOUTH, new int[]{0, 1, 2, 2, 2}, new int[]{0, 0, -1, 0, 1});
+        define(ShipType.GALLEON, Compass.EAST, new int[]{0, 1, 1, 1, 2}, new int[]{0, -2, -1, 0, 0});
+        define(ShipType.GALLEON, Compass.WEST, new int[]{0, 1, 1, 1, 2}, new int[]{0, 0, 1, 2, 0});
+    }
+
+    private ShapeTable() {
+    }
+
+    private static void define(ShipType type, Compass bearing, int[] rows, int[] columns) {
+        ROWS[type.ordinal()][bearing.ordinal()] = rows;
+        COLUMNS[type.ordinal()][bearing.ordinal()] = columns;
+    }
+
+    /**
+     * @param type    A type of ship
+     * @param bearing A bearing
+     * @return true if ships of that type can head that way
+     */
+    static boolean hasShape(ShipType type, Compass bearing) {
+        return ROWS[type.ordinal()][bearing.ordinal()] != null;
+    }
+
+    /**
+     * @param type    A type of ship
+     * @param bearing A bearing for which hasShape holds
+     * @return The row offsets of the cells of the ship
+     */
+    static int[] rows(ShipType type, Compass bearing) {
+        return ROWS[type.ordinal()][bearing.ordinal()];
+    }
+
+    /**
+     * @param type    A type of ship
+     * @param bearing A bearing for which hasShape holds
+     * @return The column offsets of the cells of the ship
+     */
+    static int[] columns(ShipType type, Compass bearing) {
+        return COLUMNS[type.ordinal()][bearing.ordinal()];
+    }
+}
@@ -4,6 +4,7 @@
 package iscteiul.ista.battleship;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -21,7 +22,7 @@ public abstract class Ship implements IShip {
      * @param pos
      * @return
      */
-    static Ship buildShip(String shipKind, Compass bearing, Position pos) {
+    static Ship buildShip(String shipKind, Compass bearing, IPosition pos) {
         Ship s;
         switch (shipKind) {
             case BARCA:
@@ -51,6 +52,34 @@ public abstract class Ship implements IShip {
     private IPosition pos;
     protected List<IPosition> positions;
 
+    /**
+     * Read-only view of positions, handed out by getPositions
+     */
+    private List<IPosition> positionsView;
+
+    /**
+     * Extents of the ship, computed on first use (ships do not change shape once
+     * built)
+     */
+    private BoundingBox boundingBox;
+
+    /**
+     * Number of the positions of this ship that tell it when they are hit (those
+     * of its shape, see fillShape); any others are checked one by one
+     */
+    private int tracked;
+
+    /**
+     * Number of distinct positions of this ship, among those tracked, that have
+     * been hit
+     */
+    private int damage;
+
+    /**
+     * The fleet this ship belongs to, which is told when the ship sinks
+     */
+    private Fleet fleet;
+
 
     /**
      * @param category
@@ -65,6 +94,42 @@ public abstract class Ship implements IShip {
         this.bearing = bearing;
         this.pos = pos;
         positions = new ArrayList<>();
+        positionsView = Collections.unmodifiableList(positions);
+    }
+
+    /**
+     * Adds the positions of a shape of the ShapeTable, from the anchor position
+     * of this ship
+     *
+     * @param type    The type of the shape
+     * @param bearing The bearing of the shape (which must exist)
+     */
+    void fillShape(ShipType type, Compass bearing) {
+        int[] rows = ShapeTable.rows(type, bearing);
+        int[] columns = ShapeTable.columns(type, bearing);
+        for (int i = 0; i < rows.length; i++) {
+            Position p = new Position(pos.getRow() + rows[i], pos.getColumn() + columns[i]);
+            p.setShip(this);
+            positions.add(p);
+            tracked++;
+        }
+    }
+
+    /**
+     * @return true if every position of this ship tells it when it is hit, so
+     * that its damage is known without checking them
+     */
+    boolean isTracked() {
+        return tracked == positions.size();
+    }
+
+    /**
+     * Called by a position of this ship the first time it is hit
+     */
+    void positionHit() {
+        damage++;
+        if (damage == getSize() && fleet != null && isTracked())
+            fleet.shipSunk();
     }
 
     /*
@@ -78,10 +143,10 @@ public abstract class Ship implements IShip {
     }
 
     /**
-     * @return the positions
+     * @return the positions, as a read-only view
      */
     public List<IPosition> getPositions() {
-        return positions;
+        return positionsView;
     }
 
     /*
@@ -111,12 +176,60 @@ public abstract class Ship implements IShip {
      */
     @Override
     public boolean stillFloating() {
+        if (isTracked())
+            return damage < getSize();
         for (int i = 0; i < getSize(); i++)
             if (!getPositions().get(i).isHit())
                 return true;
         return false;
     }
 
+    /**
+     * @return The number of positions of this ship not yet hit
+     */
+    public int getRemainingHitPoints() {
+        if (isTracked())
+            return getSize() - damage;
+        int remaining = 0;
+        for (int i = 0; i < getSize(); i++)
+            if (!getPositions().get(i).isHit())
+                remaining++;
+        return remaining;
+    }
+
+    /**
+     * @return The fleet this ship belongs to, or null if it has not been added to
+     * any
+     */
+    Fleet getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Registers the fleet to be told when this ship sinks (a ship belongs to a
+     * single fleet)
+     *
+     * @param fleet The fleet this ship has been added to
+     * @throws IllegalStateException if the ship already belongs to another fleet
+     */
+    void setFleet(Fleet fleet) {
+        if (this.fleet != null && this.fleet != fleet)
+            throw new IllegalStateException("ERROR! ship " + this + " already belongs to another fleet");
+        this.fleet = fleet;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see battleship.IShip#getBoundingBox()
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (boundingBox == null)
+            boundingBox = BoundingBox.of(getPositions());
+        return boundingBox;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -124,11 +237,7 @@ public abstract class Ship implements IShip {
      */
     @Override
     public int getTopMostPos() {
-        int top = getPositions().get(0).getRow();
-        for (int i = 1; i < getSize(); i++)
-            if (getPositions().get(i).getRow() < top)
-                top = getPositions().get(i).getRow();
-        return top;
+        return getBoundingBox().top();
     }
 
     /*
@@ -138,11 +247,7 @@ public abstract class Ship implements IShip {
      */
     @Override
     public int getBottomMostPos() {
-        int bottom = getPositions().get(0).getRow();
-        for (int i = 1; i < getSize(); i++)
-            if (getPositions().get(i).getRow() > bottom)
-                bottom = getPositions().get(i).getRow();
-        return bottom;
+        return getBoundingBox().bottom();
     }
 
     /*
@@ -152,11 +257,7 @@ public abstract class Ship implements IShip {
      */
     @Override
     public int getLeftMostPos() {
-        int left = getPositions().get(0).getColumn();
-        for (int i = 1; i < getSize(); i++)
-            if (getPositions().get(i).getColumn() < left)
-                left = getPositions().get(i).getColumn();
-        return left;
+        return getBoundingBox().left();
     }
 
     /*
@@ -166,11 +267,7 @@ public abstract class Ship implements IShip {
      */
     @Override
     public int getRightMostPos() {
-        int right = getPositions().get(0).getColumn();
-        for (int i = 1; i < getSize(); i++)
-            if (getPositions().get(i).getColumn() > right)
-                right = getPositions().get(i).getColumn();
-        return right;
+        return getBoundingBox().right();
     }
 
     /*
@@ -197,6 +294,10 @@ public abstract class Ship implements IShip {
     public boolean tooCloseTo(IShip other) {
         assert other != null;
 
+        if (!getPositions().isEmpty() && !other.getPositions().isEmpty()
+                && !getBoundingBox().touches(other.getBoundingBox()))
+            return false;
+
         Iterator<IPosition> otherPos = other.getPositions().iterator();
         while (otherPos.hasNext())
             if (tooCloseTo(otherPos.next()))
@@ -228,10 +329,10 @@ public abstract class Ship implements IShip {
     public void shoot(IPosition pos) {
         assert pos != null;
 
-        for (IPosition position : getPositions()) {
+        // positions of the shape of the ship tell it when they are hit
+        for (IPosition position : getPositions())
             if (position.equals(pos))
                 position.shoot();
-        }
     }
 
 
@@ -0,0 +1,55 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * The kinds of ships a fleet may hold, from the largest to the smallest
+ */
+public enum ShipType {
+    GALLEON("galeao", 5), FRIGATE("fragata", 4), CARRACK("nau", 3), CARAVEL("caravela", 2), BARGE("barca", 1);
+
+    private static final ShipType[] VALUES = values();
+
+    private final String kind;
+    private final int size;
+
+    ShipType(String kind, int size) {
+        this.kind = kind;
+        this.size = size;
+    }
+
+    /**
+     * @return The name used by Ship.buildShip and by the user commands
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The number of positions of this kind of ship
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param bearing The bearing of the ship
+     * @param pos     The anchor position of the ship
+     * @return A new ship of this kind
+     */
+    public Ship build(Compass bearing, IPosition pos) {
+        return Ship.buildShip(kind, bearing, pos);
+    }
+
+    /**
+     * @param category A ship category, such as "Galeao"
+     * @return The type of ship with that category, or null if there is none
+     */
+    public static ShipType ofCategory(String category) {
+        for (ShipType type : VALUES)
+            if (type.kind.equalsIgnoreCase(category))
+                return type;
+        return null;
+    }
+}
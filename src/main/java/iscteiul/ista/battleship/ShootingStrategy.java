@@ -0,0 +1,24 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * A computer player that chooses where to fire next and learns from the result
+ * of each shot. A strategy plays a single game: use a new instance per game.
+ */
+public interface ShootingStrategy {
+    /**
+     * @return The position to fire at next
+     */
+    IPosition nextShot();
+
+    /**
+     * Informs the strategy of the result of the last shot it chose
+     *
+     * @param shot The position fired at
+     * @param hit  true if some ship was hit
+     * @param sunk The ship sunk by the shot, or null if none was
+     */
+    void shotResult(IPosition shot, boolean hit, IShip sunk);
+}
@@ -0,0 +1,79 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * The possible outcomes of a shot. {@link IGame#fireAt(IPosition)} returns them
+ * int-coded, together with the index of the ship hit in the list of ships of the
+ * fleet, so that no object is allocated per shot: use {@link #of(int)} and
+ * {@link #shipIndex(int)} to decode them.
+ */
+public enum ShotOutcome {
+    /**
+     * Outside the board
+     */
+    INVALID,
+    /**
+     * At a cell already fired at
+     */
+    REPEATED,
+    MISS,
+    /**
+     * Hit a ship that is still afloat
+     */
+    HIT,
+    /**
+     * Hit the last intact position of a ship
+     */
+    SUNK;
+
+    private static final ShotOutcome[] VALUES = values();
+
+    /**
+     * Bits of a code taken by the outcome, the ship index (plus one) taking the rest
+     */
+    private static final int OUTCOME_BITS = 3;
+    private static final int OUTCOME_MASK = (1 << OUTCOME_BITS) - 1;
+
+    /**
+     * @param shipIndex The index of the ship hit, or -1 if no ship was hit
+     * @return The code of this outcome
+     */
+    public int code(int shipIndex) {
+        return ordinal() | (shipIndex + 1) << OUTCOME_BITS;
+    }
+
+    /**
+     * @return The code of this outcome, for shots that hit no ship
+     */
+    public int code() {
+        return ordinal();
+    }
+
+    /**
+     * @param code The code of a shot
+     * @return Its outcome
+     */
+    public static ShotOutcome of(int code) {
+        return VALUES[code & OUTCOME_MASK];
+    }
+
+    /**
+     * @param code The code of a shot
+     * @return The index of the ship hit in the list of ships of the fleet, or -1
+     * if the shot hit no ship
+     */
+    public static int shipIndex(int code) {
+        return (code >>> OUTCOME_BITS) - 1;
+    }
+
+    /**
+     * @param code The code of a shot
+     * @return true if the shot hit a ship (sinking it or not)
+     */
+    public static boolean isHit(int code) {
+        int outcome = code & OUTCOME_MASK;
+        return outcome == HIT.ordinal() || outcome == SUNK.ordinal();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+/**
+ * The rules of a shot shared by {@link Game} and {@link ConcurrentGame}, which
+ * only differ in how they claim a cell and count its outcome: which shots are
+ * valid, how a cell is numbered, how a ship is hit, and how a salvo is fired
+ * shot by shot.
+ */
+final class ShotResolution {
+    /**
+     * Where the cells of a bitmask outside the board are fired at: an invalid
+     * position, recorded in journals as such
+     */
+    private static final IPosition OUTSIDE = IPosition.of(-1, -1);
+
+    private ShotResolution() {
+    }
+
+    /**
+     * Resolves and counts a single shot of a game
+     */
+    interface Shooter {
+        /**
+         * @param pos The position fired at
+         * @return The code of the outcome of the shot
+         */
+        int shoot(IPosition pos);
+    }
+
+    /**
+     * @param spec A board
+     * @return The width of the grid of cells accepted by isValid (0..width
+     * inclusive)
+     */
+    static int gridWidth(BoardSpec spec) {
+        return spec.getWidth() + 1;
+    }
+
+    /**
+     * @param spec A board
+     * @return The number of cells of the grid accepted by isValid
+     */
+    static int gridCells(BoardSpec spec) {
+        return (spec.getHeight() + 1) * gridWidth(spec);
+    }
+
+    /**
+     * @param spec A board
+     * @param pos  A position
+     * @return true if a shot at that position is valid
+     */
+    static boolean isValid(BoardSpec spec, IPosition pos) {
+        return (pos.getRow() >= 0 && pos.getRow() <= spec.getHeight() && pos.getColumn() >= 0
+                && pos.getColumn() <= spec.getWidth());
+    }
+
+    /**
+     * @param gridWidth The width of the grid
+     * @param pos       A valid position
+     * @return The index of its cell in the grid
+     */
+    static int cellOf(int gridWidth, IPosition pos) {
+        return pos.getRow() * gridWidth + pos.getColumn();
+    }
+
+    /**
+     * Hits a ship at a cell not fired at before (a ship is sunk by the shot that
+     * leaves it not floating, as no cell is hit twice)
+     *
+     * @param fleet The fleet of the ship
+     * @param ship  The ship at that position
+     * @param pos   The position fired at
+     * @return The code of the outcome, HIT or SUNK
+     */
+    static int hit(IFleet fleet, IShip ship, IPosition pos) {
+        ship.shoot(pos);
+        int index = fleet instanceof Fleet ? ((Fleet) fleet).shipIndexAt(pos) : fleet.getShips().indexOf(ship);
+        return ship.stillFloating() ? ShotOutcome.HIT.code(index) : ShotOutcome.SUNK.code(index);
+    }
+
+    /**
+     * @param shooter The game
+     * @param salvo   The positions fired at, in order
+     * @return The outcome of the whole salvo
+     */
+    static SalvoResult fire(Shooter shooter, IPosition[] salvo) {
+        int[] outcomes = new int[ShotOutcome.values().length];
+        for (IPosition pos : salvo)
+            outcomes[ShotOutcome.of(shooter.shoot(pos)).ordinal()]++;
+        return result(outcomes);
+    }
+
+    /**
+     * @param shooter  The game
+     * @param spec     Its board
+     * @param cellMask The cells fired at, in increasing order of cell index
+     * @return The outcome of the whole salvo
+     */
+    static SalvoResult fire(Shooter shooter, BoardSpec spec, long[] cellMask) {
+        int[] outcomes = new int[ShotOutcome.values().length];
+        int cells = spec.getCells();
+        for (int w = 0; w < cellMask.length; w++)
+            for (long bits = cellMask[w]; bits != 0; bits &= bits - 1) {
+                long cell = (long) w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                IPosition pos = cell >= cells ? OUTSIDE : Coordinate.of(spec.row((int) cell), spec.column((int) cell));
+                outcomes[ShotOutcome.of(shooter.shoot(pos)).ordinal()]++;
+            }
+        return result(outcomes);
+    }
+
+    /**
+     * @param outcomes For each outcome, how many shots of a salvo had it
+     */
+    private static SalvoResult result(int[] outcomes) {
+        int sinks = outcomes[ShotOutcome.SUNK.ordinal()];
+        return new SalvoResult(outcomes[ShotOutcome.HIT.ordinal()] + sinks, sinks,
+                outcomes[ShotOutcome.INVALID.ordinal()], outcomes[ShotOutcome.REPEATED.ordinal()]);
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated statistics of a batch of simulated games. Reports are immutable and
+ * can be merged, so that partial reports computed in parallel add up to the
+ * report of the whole batch; the games themselves are counted in place by a
+ * {@link Tally}, one per task.
+ * <p>
+ * The histogram of the shots is kept sparse (only the numbers of shots some
+ * game took, in ascending order), as the limit of shots grows with the board
+ * while a batch only takes a few distinct numbers of shots.
+ */
+public final class SimulationReport {
+    /**
+     * The report of no games at all
+     */
+    public static final SimulationReport EMPTY = new Tally().snapshot();
+
+    private final int games;
+    private final int gamesWon;
+    private final long totalShots;
+    private final int minShots;
+    private final int maxShots;
+    private final long hits;
+    private final long sunkShips;
+    private final long invalidShots;
+    private final long repeatedShots;
+    /** Distinct numbers of shots, ascending */
+    private final int[] shotCounts;
+    /** Games that took each of those numbers of shots */
+    private final long[] shotGames;
+
+    private SimulationReport(Tally tally) {
+        this.games = tally.games;
+        this.gamesWon = tally.gamesWon;
+        this.totalShots = tally.totalShots;
+        this.minShots = tally.minShots;
+        this.maxShots = tally.maxShots;
+        this.hits = tally.hits;
+        this.sunkShips = tally.sunkShips;
+        this.invalidShots = tally.invalidShots;
+        this.repeatedShots = tally.repeatedShots;
+        this.shotCounts = Arrays.copyOf(tally.shotCounts, tally.size);
+        this.shotGames = Arrays.copyOf(tally.shotGames, tally.size);
+    }
+
+    /**
+     * @param other Another report
+     * @return The report of the games of both reports
+     */
+    public SimulationReport merge(SimulationReport other) {
+        Tally tally = new Tally();
+        tally.add(this);
+        tally.add(other);
+        return tally.snapshot();
+    }
+
+    /**
+     * The statistics of the games played so far by a task, updated in place. A
+     * tally is not thread-safe: each task counts its own games, and the tallies
+     * of the tasks are added up when they are joined.
+     */
+    static final class Tally {
+        private int games;
+        private int gamesWon;
+        private long totalShots;
+        private int minShots = Integer.MAX_VALUE;
+        private int maxShots;
+        private long hits;
+        private long sunkShips;
+        private long invalidShots;
+        private long repeatedShots;
+        private int[] shotCounts = new int[0];
+        private long[] shotGames = new long[0];
+        private int size;
+
+        /**
+         * Counts a game
+         *
+         * @param game  A finished game
+         * @param shots The number of shots fired in that game
+         */
+        void record(IGame game, int shots) {
+            games++;
+            if (game.getRemainingShips() == 0)
+                gamesWon++;
+            totalShots += shots;
+            minShots = Math.min(minShots, shots);
+            maxShots = Math.max(maxShots, shots);
+            hits += game.getHits();
+            sunkShips += game.getSunkShips();
+            invalidShots += game.getInvalidShots();
+            repeatedShots += game.getRepeatedShots();
+            count(shots, 1);
+        }
+
+        /**
+         * @param other The tally of other games
+         * @return This tally, now counting the games of both
+         */
+        Tally add(Tally other) {
+            add(other.games, other.gamesWon, other.totalShots, other.minShots, other.maxShots, other.hits,
+                    other.sunkShips, other.invalidShots, other.repeatedShots);
+            for (int i = 0; i < other.size; i++)
+                count(other.shotCounts[i], other.shotGames[i]);
+            return this;
+        }
+
+        private void add(SimulationReport report) {
+            add(report.games, report.gamesWon, report.totalShots, report.minShots, report.maxShots, report.hits,
+                    report.sunkShips, report.invalidShots, report.repeatedShots);
+            for (int i = 0; i < report.shotCounts.length; i++)
+                count(report.shotCounts[i], report.shotGames[i]);
+        }
+
+        private void add(int games, int gamesWon, long totalShots, int minShots, int maxShots, long hits,
+                         long sunkShips, long invalidShots, long repeatedShots) {
+            this.games += games;
+            this.gamesWon += gamesWon;
+            this.totalShots += totalShots;
+            this.minShots = Math.min(this.minShots, minShots);
+            this.maxShots = Math.max(this.maxShots, maxShots);
+            this.hits += hits;
+            this.sunkShips += sunkShips;
+            this.invalidShots += invalidShots;
+            this.repeatedShots += repeatedShots;
+        }
+
+        /**
+         * Adds games to the histogram, inserting their number of shots if no game
+         * took it before
+         */
+        private void count(int shots, long n) {
+            int i = Arrays.binarySearch(shotCounts, 0, size, shots);
+            if (i >= 0) {
+                shotGames[i] += n;
+                return;
+            }
+            i = -i - 1;
+            if (size == shotCounts.length) {
+                int capacity = Math.max(16, 2 * size);
+                shotCounts = Arrays.copyOf(shotCounts, capacity);
+                shotGames = Arrays.copyOf(shotGames, capacity);
+            }
+            System.arraycopy(shotCounts, i, shotCounts, i + 1, size - i);
+            System.arraycopy(shotGames, i, shotGames, i + 1, size - i);
+            shotCounts[i] = shots;
+            shotGames[i] = n;
+            size++;
+        }
+
+        /**
+         * @return A report of the games counted so far
+         */
+        SimulationReport snapshot() {
+            return new SimulationReport(this);
+        }
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games where the whole fleet was sunk
+     */
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    public long getTotalShots() {
+        return totalShots;
+    }
+
+    /**
+     * @return The fewest shots fired in a game (0 if there were no games)
+     */
+    public int getMinShots() {
+        return games == 0 ? 0 : minShots;
+    }
+
+    public int getMaxShots() {
+        return maxShots;
+    }
+
+    public double getMeanShots() {
+        return games == 0 ? 0 : (double) totalShots / games;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getSunkShips() {
+        return sunkShips;
+    }
+
+    public long getInvalidShots() {
+        return invalidShots;
+    }
+
+    public long getRepeatedShots() {
+        return repeatedShots;
+    }
+
+    /**
+     * @param shots A number of shots
+     * @return How many games took exactly that many
+     */
+    public long getGamesWithShots(int shots) {
+        int i = Arrays.binarySearch(shotCounts, shots);
+        return i < 0 ? 0 : shotGames[i];
+    }
+
+    /**
+     * @return For each number of shots up to getMaxShots(), how many games took
+     * exactly that many (empty if there were no games)
+     */
+    public long[] getShotsHistogram() {
+        long[] histogram = new long[games == 0 ? 0 : maxShots + 1];
+        for (int i = 0; i < shotCounts.length; i++)
+            histogram[shotCounts[i]] = shotGames[i];
+        return histogram;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof SimulationReport))
+            return false;
+        SimulationReport r = (SimulationReport) other;
+        return games == r.games && gamesWon == r.gamesWon && totalShots == r.totalShots
+                && getMinShots() == r.getMinShots() && maxShots == r.maxShots && hits == r.hits
+                && sunkShips == r.sunkShips && invalidShots == r.invalidShots && repeatedShots == r.repeatedShots
+                && Arrays.equals(shotCounts, r.shotCounts) && Arrays.equals(shotGames, r.shotGames);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(shotCounts) + Arrays.hashCode(shotGames)) + Long.hashCode(totalShots);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Jogos: %d Ganhos: %d Tiros: %.2f (min %d, max %d) Acertos: %d Afundados: %d", games,
+                gamesWon, getMeanShots(), getMinShots(), maxShots, hits, sunkShips);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ *
+ */
+package iscteiul.ista.battleship;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Plays batches of games without any user interaction: each game gets a random
+ * fleet from a {@link FleetGenerator} and a fresh {@link ShootingStrategy}, and
+ * is played until the whole fleet is sunk (or a limit of shots is reached).
+ * Batches are split across the cores with fork/join; each task reseeds a single
+ * generator game by game, and all of them share the placement table of the
+ * board.
+ * <p>
+ * Every game derives its seed from the seed of the batch and its own number, so
+ * a batch yields the same report whatever the number of threads.
+ */
+public class Simulator {
+    /**
+     * Games played by a fork/join task before it stops splitting
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    private final BoardSpec spec;
+    private final PlacementTable table;
+    private final LongFunction<ShootingStrategy> strategies;
+    private final ForkJoinPool pool;
+    private final int maxShots;
+
+    /**
+     * @param strategies Builds the strategy for a game, given a seed
+     */
+    public Simulator(LongFunction<ShootingStrategy> strategies) {
+        this(strategies, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param strategies Builds the strategy for a game, given a seed
+     * @param pool       The pool where games are played
+     */
+    public Simulator(LongFunction<ShootingStrategy> strategies, ForkJoinPool pool) {
+        this(BoardSpec.DEFAULT, strategies, pool);
+    }
+
+    /**
+     * @param spec       The board and the composition of the fleets
+     * @param strategies Builds the strategy for a game, given a seed
+     * @param pool       The pool where games are played
+     */
+    public Simulator(BoardSpec spec, LongFunction<ShootingStrategy> strategies, ForkJoinPool pool) {
+        this.spec = spec;
+        this.table = PlacementTable.of(spec);
+        this.strategies = strategies;
+        this.pool = pool;
+        this.maxShots = 4 * spec.getCells();
+    }
+
+    /**
+     * @param games The number of games to play
+     * @param seed  The seed of the batch
+     * @return The aggregated statistics of the games
+     */
+    public SimulationReport run(int games, long seed) {
+        if (games < 0)
+            throw new IllegalArgumentException("ERROR! negative number of games");
+        return pool.invoke(new Batch(this, seed, 0, games)).snapshot();
+    }
+
+    /**
+     * Plays a single game
+     *
+     * @param seed The seed of the game
+     * @return The statistics of that game
+     */
+    public SimulationReport play(long seed) {
+        SimulationReport.Tally tally = new SimulationReport.Tally();
+        play(new FleetGenerator(spec, table, seed), seed, tally);
+        return tally.snapshot();
+    }
+
+    /**
+     * Plays a single game, counting it in a tally
+     *
+     * @param generator A generator of fleets for the board, reseeded for this
+     *                  game
+     * @param seed      The seed of the game
+     * @param tally     Where the game is counted
+     */
+    private void play(FleetGenerator generator, long seed, SimulationReport.Tally tally) {
+        generator.setSeed(seed);
+        Fleet fleet = generator.nextFleet();
+        Game game = new Game(fleet);
+        ShootingStrategy strategy = strategies.apply(mix(seed));
+
+        int shots = 0;
+        while (game.getRemainingShips() > 0 && shots < maxShots) {
+            IPosition pos = strategy.nextShot();
+            int code = game.fireAt(pos);
+            IShip sunk = ShotOutcome.of(code) == ShotOutcome.SUNK ? fleet.getShips().get(ShotOutcome.shipIndex(code))
+                    : null;
+            strategy.shotResult(pos, ShotOutcome.isHit(code), sunk);
+            shots++;
+        }
+        tally.record(game, shots);
+    }
+
+    /**
+     * SplitMix64 finalizer, used to derive independent seeds
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays games from (inclusive) to to (exclusive) of a batch
+     */
+    private static final class Batch extends RecursiveTask<SimulationReport.Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Simulator simulator;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        Batch(Simulator simulator, long seed, int from, int to) {
+            this.simulator = simulator;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport.Tally compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationReport.Tally tally = new SimulationReport.Tally();
+                FleetGenerator generator = new FleetGenerator(simulator.spec, simulator.table, seed);
+                for (int i = from; i < to; i++)
+                    simulator.play(generator, mix(seed + i), tally);
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            Batch left = new Batch(simulator, seed, from, middle);
+            left.fork();
+            SimulationReport.Tally right = new Batch(simulator, seed, middle, to).compute();
+            return left.join().add(right);
+        }
+    }
+}
@@ -3,8 +3,7 @@
  */
 package iscteiul.ista.battleship;
 
-import java.util.Scanner;
-
+import static org.apache.logging.log4j.util.Unbox.box;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,18 +13,37 @@ public class Tasks {
 
     private static final int NUMBER_SHOTS = 3;
 
-    private static final String GOODBYE_MESSAGE = "Bons ventos!";
+    /**
+     * @return A reader of the standard input, knowing the commands and the kinds
+     * of ships
+     */
+    static CommandReader newReader() {
+        return GameSession.newReader(System.in);
+    }
 
     /**
-     * Strings to be used by the user
+     * Runs the command loop of a task over the standard input
+     *
+     * @param mode The commands of the task
      */
-    private static final String NOVAFROTA = "nova";
-    private static final String DESISTIR = "desisto";
-    private static final String RAJADA = "rajada";
-    private static final String VERTIROS = "ver";
-    private static final String BATOTA = "mapa";
-    private static final String STATUS = "estado";
+    private static void play(GameSession.Mode mode) {
+        play(new GameSession(0, System.nanoTime(), mode), newReader(), LOGGER);
+    }
 
+    /**
+     * Runs a session, logging its messages (and those about each shot of the
+     * computer to the shots logger) and printing its boards, in the order they
+     * come (see Logging)
+     *
+     * @param session The session
+     * @param in      Where its commands are read from
+     * @param logger  Where its messages go
+     */
+    static void play(GameSession session, CommandReader in, Logger logger) {
+        BoardRenderer.Sink boards = Logging.boardSink(logger);
+        session.setShotOutput(GameSession.logOutput(Logging.shotLogger(), boards));
+        SessionEngine.run(session, in, GameSession.logOutput(logger, boards));
+    }
 
     /////////////////////////////////////////////////////////////////////////////
     // hereafter one may find some code that can be converted to automatic tests,
@@ -39,13 +57,13 @@ public class Tasks {
      * indicates whether the ship occupies each one of such positions or not
      */
     public static void taskA() {
-        Scanner in = new Scanner(System.in);
+        CommandReader in = newReader();
         while (in.hasNext()) {
             Ship s = readShip(in);
             if (s != null)
                 for (int i = 0; i < NUMBER_SHOTS; i++) {
-                    Position p = readPosition(in);
-                    LOGGER.info("{} {}", p, s.occupies(p));
+                    IPosition p = readPosition(in);
+                    LOGGER.info("{} {}", p, box(s.occupies(p)));
                 }
         }
     }
@@ -54,25 +72,7 @@ public class Tasks {
      * This task tests the building up of fleets
      */
     public static void taskB() {
-        Scanner in = new Scanner(System.in);
-        IFleet fleet = null;
-        String command = in.next();
-        while (!command.equals(DESISTIR)) {
-            switch (command) {
-                case NOVAFROTA:
-                    fleet = buildFleet(in);
-                    break;
-                case STATUS:
-                    if (fleet != null)
-                        fleet.printStatus();
-                    break;
-                default:
-                    LOGGER.info("Que comando é esse??? Repete lá ...");
-            }
-            // The other commands are unknown in this task
-            command = in.next();
-        }
-        LOGGER.info(GOODBYE_MESSAGE);
+        play(GameSession.Mode.FLEETS);
     }
 
     /**
@@ -80,113 +80,26 @@ public class Tasks {
      * possibility of cheating
      */
     public static void taskC() {
-        Scanner in = new Scanner(System.in);
-        IFleet fleet = null;
-        String command = in.next();
-        while (!command.equals(DESISTIR)) {
-            switch (command) {
-                case NOVAFROTA:
-                    fleet = buildFleet(in);
-                    break;
-                case STATUS:
-                    if (fleet != null)
-                        fleet.printStatus();
-                    break;
-                case BATOTA:
-                    LOGGER.info(fleet);
-                    break;
-                default:
-                    LOGGER.info("Que comando é esse??? Repete lá ...");
-            }
-            // The other commands are unknown in this task
-            command = in.next();
-        }
-        LOGGER.info(GOODBYE_MESSAGE);
+        play(GameSession.Mode.CHEATING);
     }
 
     /**
      * This task also tests the fighting element of a round of three shots
      */
     public static void taskD() {
-
-        Scanner in = new Scanner(System.in);
-        IFleet fleet = null;
-        IGame game = null;
-        String command = in.next();
-        while (!command.equals(DESISTIR)) {
-            switch (command) {
-                case NOVAFROTA:
-                    fleet = buildFleet(in);
-                    game = new Game(fleet);
-                    break;
-                case STATUS:
-                    if (fleet != null)
-                        fleet.printStatus();
-                    break;
-                case BATOTA:
-                    if (fleet != null)
-                        game.printFleet();
-                    break;
-                case RAJADA:
-                    if (game != null) {
-                        firingRound(in, game);
-
-                        LOGGER.info("Hits: {} Inv: {} Rep: {} Restam {} navios.", game.getHits(), game.getInvalidShots(),
-                                game.getRepeatedShots(), game.getRemainingShips());
-                        if (game.getRemainingShips() == 0)
-                            LOGGER.info("Maldito sejas, Java Sparrow, eu voltarei, glub glub glub...");
-                    }
-                    break;
-                case VERTIROS:
-                    if (game != null)
-                        game.printValidShots();
-                    break;
-                default:
-                    LOGGER.info("Que comando é esse??? Repete ...");
-            }
-            command = in.next();
-        }
-        LOGGER.info(GOODBYE_MESSAGE);
-    }
-
-    /**
-     * This operation allows the build up of a fleet, given user data
-     *
-     * @param in The scanner to read from
-     * @return The fleet that has been built
-     */
-    static Fleet buildFleet(Scanner in) {
-        assert in != null;
-
-        Fleet fleet = new Fleet();
-        int i = 0; // i represents the total of successfully created ships
-
-        while (i <= Fleet.FLEET_SIZE) {
-            IShip s = readShip(in);
-            if (s != null) {
-                boolean success = fleet.addShip(s);
-                if (success)
-                    i++;
-                else
-                    LOGGER.info("Falha na criacao de {} {} {}", s.getCategory(), s.getBearing(), s.getPosition());
-            } else {
-                LOGGER.info("Navio desconhecido!");
-            }
-        }
-        LOGGER.info("{} navios adicionados com sucesso!", i);
-        return fleet;
+        play(GameSession.Mode.BATTLE);
     }
 
     /**
      * This operation reads data about a ship, build it and returns it
      *
-     * @param in The scanner to read from
+     * @param in The reader to read from
      * @return The created ship based on the data that has been read
      */
-    static Ship readShip(Scanner in) {
+    static Ship readShip(CommandReader in) {
         String shipKind = in.next();
-        Position pos = readPosition(in);
-        char c = in.next().charAt(0);
+        IPosition pos = readPosition(in);
+        char c = in.nextChar();
         Compass bearing = Compass.charToCompass(c);
         return Ship.buildShip(shipKind, bearing, pos);
     }
@@ -194,30 +107,13 @@ public class Tasks {
     /**
      * This operation allows reading a position in the map
      *
-     * @param in The scanner to read from
-     * @return The position that has been read
+     * @param in The reader to read from
+     * @return The (interned) position that has been read
      */
-    static Position readPosition(Scanner in) {
+    static IPosition readPosition(CommandReader in) {
         int row = in.nextInt();
         int column = in.nextInt();
-        return new Position(row, column);
-    }
-
-    /**
-     * This operation allows firing a round of shots (three) over a fleet, in the
-     * context of a game
-     *
-     * @param in   The scanner to read from
-     * @param game The context game while fleet is being attacked
-     */
-    static void firingRound(Scanner in, IGame game) {
-        for (int i = 0; i < NUMBER_SHOTS; i++) {
-            IPosition pos = readPosition(in);
-            IShip sh = game.fire(pos);
-            if (sh != null)
-                LOGGER.info("Mas... mas... {}s nao sao a prova de bala? :-(", sh.getCategory());
-        }
-
+        return IPosition.of(row, column);
     }
 
 }
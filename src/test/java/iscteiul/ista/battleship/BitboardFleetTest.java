@@ -0,0 +1,149 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for BitboardFleet")
+class BitboardFleetTest {
+
+    BitboardFleet fleet;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new BitboardFleet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fleet = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("shipAt Tests")
+    class ShipAtTests {
+
+        @Test
+        void testShipAtEveryCellOfEveryShip() {
+            Ship galleon = new Galleon(Compass.NORTH, new Position(0, 0));
+            Ship frigate = new Frigate(Compass.EAST, new Position(5, 2));
+            assertTrue(fleet.addShip(galleon));
+            assertTrue(fleet.addShip(frigate));
+
+            for (IPosition p : galleon.getPositions())
+                assertSame(galleon, fleet.shipAt(new Position(p.getRow(), p.getColumn())));
+            for (IPosition p : frigate.getPositions())
+                assertSame(frigate, fleet.shipAt(p.getRow(), p.getColumn()));
+        }
+
+        @Test
+        void testShipAtWater() {
+            fleet.addShip(new Barge(Compass.EAST, new Position(0, 0)));
+            assertNull(fleet.shipAt(new Position(9, 9)));
+            assertFalse(fleet.isOccupied(9, 9));
+        }
+
+        @Test
+        void testShipAtOutsideBoard() {
+            assertNull(fleet.shipAt(-1, 0));
+            assertNull(fleet.shipAt(0, Fleet.BOARD_SIZE));
+            assertNull(fleet.shipAt(new Position(Fleet.BOARD_SIZE, 0)));
+        }
+
+        @Test
+        void testRejectedShipIsNotIndexed() {
+            fleet.addShip(new Barge(Compass.EAST, new Position(0, 0)));
+            assertFalse(fleet.addShip(new Barge(Compass.EAST, new Position(0, 1))));
+            assertNull(fleet.shipAt(0, 1));
+        }
+
+        @Test
+        void testAgreesWithFleet() {
+            Fleet plain = new Fleet();
+            Ship[] ships = {
+                    new Galleon(Compass.SOUTH, new Position(0, 1)),
+                    new Carrack(Compass.NORTH, new Position(5, 9)),
+                    new Caravel(Compass.EAST, new Position(9, 0)),
+                    new Barge(Compass.EAST, new Position(6, 5))
+            };
+            for (Ship s : ships) {
+                Ship copy = ShipType.ofCategory(s.getCategory()).build(s.getBearing(), s.getPosition());
+                assertEquals(plain.addShip(copy), fleet.addShip(s));
+            }
+
+            for (int r = 0; r < Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c < Fleet.BOARD_SIZE; c++)
+                    assertEquals(String.valueOf(plain.shipAt(new Position(r, c))), String.valueOf(fleet.shipAt(r, c)));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Occupancy Tests")
+    class OccupancyTests {
+
+        @Test
+        void testOccupancyBits() {
+            fleet.addShip(new Caravel(Compass.SOUTH, new Position(6, 4)));
+
+            long[] bits = fleet.getOccupancy();
+            assertEquals(2, bits.length);
+            assertEquals(2, Long.bitCount(bits[0]) + Long.bitCount(bits[1]));
+            assertTrue(fleet.isOccupied(6, 4));
+            assertTrue(fleet.isOccupied(7, 4));
+        }
+
+        @Test
+        void testOccupancyIsACopy() {
+            fleet.addShip(new Barge(Compass.EAST, new Position(0, 0)));
+            fleet.getOccupancy()[0] = 0;
+            assertTrue(fleet.isOccupied(0, 0));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Board Size Tests")
+    class BoardSizeTests {
+
+        @Test
+        void testSparseIndexOnLargeBoard() {
+            BoardSpec spec = BoardSpec.square(4096, ShipType.FRIGATE, ShipType.BARGE);
+            BitboardFleet large = new BitboardFleet(spec);
+            Ship frigate = new Frigate(Compass.EAST, new Position(4000, 4090));
+            Ship barge = new Barge(Compass.EAST, new Position(4095, 0));
+            assertTrue(large.addShip(frigate));
+            assertTrue(large.addShip(barge));
+            assertFalse(large.addShip(new Barge(Compass.EAST, new Position(0, 0))));
+
+            for (IPosition p : frigate.getPositions())
+                assertSame(frigate, large.shipAt(p.getRow(), p.getColumn()));
+            assertSame(barge, large.shipAt(new Position(4095, 0)));
+            assertNull(large.shipAt(4095, 1));
+            assertNull(large.shipAt(4096, 0));
+            assertEquals(spec.getWords(), large.getOccupancy().length);
+        }
+
+        @Test
+        void testGameOnLargeBoard() {
+            BoardSpec spec = new BoardSpec(300, 500, ShipType.CARAVEL);
+            BitboardFleet large = new BitboardFleet(spec);
+            assertTrue(large.addShip(new Caravel(Compass.SOUTH, new Position(298, 499))));
+            Game game = new Game(large);
+
+            assertNull(game.fire(new Position(299, 499)));
+            assertNotNull(game.fire(new Position(298, 499)));
+            game.fire(new Position(300, 500));
+            game.fire(new Position(301, 0));
+            game.fire(new Position(298, 499));
+            assertAll(
+                    () -> assertEquals(2, game.getHits()),
+                    () -> assertEquals(1, game.getSunkShips()),
+                    () -> assertEquals(1, game.getInvalidShots()),
+                    () -> assertEquals(1, game.getRepeatedShots()),
+                    () -> assertEquals(0, game.getRemainingShips())
+            );
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for BoardRenderer")
+class BoardRendererTest {
+    private static final String NL = System.lineSeparator();
+
+    List<String> writes;
+    BoardRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        writes = new ArrayList<>();
+        renderer = new BoardRenderer(text -> writes.add(text.toString()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writes = null;
+        renderer = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Rendering Tests")
+    class RenderingTests {
+
+        @Test
+        void testBoardInOneWrite() {
+            BoardSpec spec = new BoardSpec(2, 3, ShipType.BARGE);
+            renderer.renderBoard(spec, List.of(IPosition.of(0, 1), IPosition.of(1, 2), IPosition.of(2, 0),
+                    IPosition.of(0, 3)), 'X');
+            assertEquals(List.of(".X." + NL + "..X" + NL), writes);
+        }
+
+        @Test
+        void testBufferReused() {
+            renderer.renderBoard(BoardSpec.DEFAULT, List.of(IPosition.of(9, 9)), '#');
+            renderer.renderBoard(new BoardSpec(1, 2, ShipType.BARGE), List.of(), '#');
+            assertEquals(2, writes.size());
+            assertEquals(Fleet.BOARD_SIZE * (Fleet.BOARD_SIZE + NL.length()), writes.get(0).length());
+            assertTrue(writes.get(0).endsWith(".#" + NL));
+            assertEquals(".." + NL, writes.get(1));
+        }
+
+        @Test
+        void testShips() {
+            IShip barge = new Barge(Compass.NORTH, new Position(1, 1));
+            IShip caravel = new Caravel(Compass.EAST, new Position(3, 3));
+            renderer.renderShips(List.of(barge, caravel));
+            renderer.renderShips(List.of());
+            assertEquals(List.of(barge + NL + caravel + NL), writes);
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Sink Tests")
+    class SinkTests {
+
+        @TempDir
+        Path dir;
+
+        @Test
+        void testStreamSink() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BoardRenderer r = new BoardRenderer(BoardRenderer.streamSink(out, StandardCharsets.UTF_8));
+            r.renderBoard(new BoardSpec(1, 2, ShipType.BARGE), List.of(IPosition.of(0, 0)), 'ç');
+            assertEquals("ç." + NL, out.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void testFileSink() throws IOException {
+            Path file = dir.resolve("boards.txt");
+            try (BoardRenderer.Sink sink = BoardRenderer.fileSink(file)) {
+                BoardRenderer r = new BoardRenderer(sink);
+                r.renderBoard(new BoardSpec(1, 1, ShipType.BARGE), List.of(), 'X');
+                r.renderBoard(new BoardSpec(1, 1, ShipType.BARGE), List.of(IPosition.of(0, 0)), 'X');
+            }
+            assertEquals("." + NL + "X" + NL, Files.readString(file));
+        }
+
+        @Test
+        void testStdoutSink() {
+            PrintStream original = System.out;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+                new BoardRenderer(BoardRenderer.stdoutSink())
+                        .renderBoard(new BoardSpec(1, 3, ShipType.BARGE), List.of(IPosition.of(0, 2)), 'X');
+            } finally {
+                System.setOut(original);
+            }
+            assertEquals("..X" + NL, out.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void testGameAndFleetRenderers() {
+            Fleet fleet = new Fleet();
+            fleet.addShip(new Barge(Compass.NORTH, new Position(0, 0)));
+            fleet.setRenderer(renderer);
+            Game game = new Game(fleet);
+            game.setRenderer(renderer);
+            game.fire(IPosition.of(1, 1));
+            game.printValidShots();
+            game.printFleet();
+            fleet.printStatus();
+            assertAll(
+                    () -> assertEquals(5, writes.size()),
+                    () -> assertEquals('X', writes.get(0).charAt(NL.length() + Fleet.BOARD_SIZE + 1)),
+                    () -> assertEquals('#', writes.get(1).charAt(0)),
+                    () -> assertEquals(fleet.getShips().get(0) + NL, writes.get(2))
+            );
+        }
+    }
+}
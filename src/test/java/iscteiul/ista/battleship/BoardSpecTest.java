@@ -0,0 +1,95 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for BoardSpec")
+class BoardSpecTest {
+
+    BoardSpec spec;
+
+    @BeforeEach
+    void setUp() {
+        spec = new BoardSpec(3, 5, ShipType.BARGE, ShipType.GALLEON, ShipType.CARAVEL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        spec = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Constructor Tests")
+    class ConstructorTests {
+
+        @Test
+        void testDefaultMatchesConstants() {
+            assertAll(
+                    () -> assertEquals((int) IFleet.BOARD_SIZE, BoardSpec.DEFAULT.getHeight()),
+                    () -> assertEquals((int) IFleet.BOARD_SIZE, BoardSpec.DEFAULT.getWidth()),
+                    () -> assertEquals((int) IFleet.FLEET_SIZE, BoardSpec.DEFAULT.getFleetSize()),
+                    () -> assertEquals(1, BoardSpec.DEFAULT.count(ShipType.GALLEON)),
+                    () -> assertEquals(3, BoardSpec.DEFAULT.count(ShipType.BARGE))
+            );
+        }
+
+        @Test
+        void testCompositionIsLargestFirst() {
+            ShipType[] composition = spec.getComposition();
+            assertArrayEquals(new ShipType[]{ShipType.GALLEON, ShipType.CARAVEL, ShipType.BARGE}, composition);
+            composition[0] = ShipType.BARGE;
+            assertEquals(ShipType.GALLEON, spec.getComposition()[0]);
+        }
+
+        @Test
+        void testInvalidDimensions() {
+            assertAll(
+                    () -> assertThrows(IllegalArgumentException.class, () -> new BoardSpec(0, 5, ShipType.BARGE)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> new BoardSpec(5, -1, ShipType.BARGE)),
+                    () -> assertThrows(IllegalArgumentException.class,
+                            () -> BoardSpec.square(BoardSpec.MAX_SIDE + 1, ShipType.BARGE)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> BoardSpec.square(5))
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Cell Index Tests")
+    class CellIndexTests {
+
+        @Test
+        void testIndexRoundTrip() {
+            assertEquals(15, spec.getCells());
+            for (int i = 0; i < spec.getCells(); i++) {
+                assertTrue(spec.isInside(spec.row(i), spec.column(i)));
+                assertEquals(i, spec.index(spec.row(i), spec.column(i)));
+            }
+        }
+
+        @Test
+        void testIsInside() {
+            assertTrue(spec.isInside(2, 4));
+            assertFalse(spec.isInside(3, 0));
+            assertFalse(spec.isInside(0, 5));
+            assertFalse(spec.isInside(-1, 0));
+        }
+
+        @Test
+        void testWords() {
+            assertEquals(1, spec.getWords());
+            assertEquals(2, BoardSpec.DEFAULT.getWords());
+            assertEquals(4096 * 4096 / 64, BoardSpec.square(4096, ShipType.BARGE).getWords());
+        }
+
+        @Test
+        void testEquality() {
+            BoardSpec same = new BoardSpec(3, 5, ShipType.CARAVEL, ShipType.GALLEON, ShipType.BARGE);
+            assertEquals(spec, same);
+            assertEquals(spec.hashCode(), same.hashCode());
+            assertNotEquals(spec, new BoardSpec(5, 3, ShipType.CARAVEL, ShipType.GALLEON, ShipType.BARGE));
+        }
+    }
+}
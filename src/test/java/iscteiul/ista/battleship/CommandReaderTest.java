@@ -0,0 +1,130 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for CommandReader")
+class CommandReaderTest {
+
+    private static CommandReader reader(String text, String... keywords) {
+        return new CommandReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), keywords);
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Tokenizing Tests")
+    class TokenizingTests {
+
+        @Test
+        void testSameTokensAsScanner() {
+            String text = "  nova galeao 3 4 n\n\tbarca -1 +7 e\r\n rajada 1 2 3 4 5 6 ação\f\u000Bdesisto  ";
+            Scanner scanner = new Scanner(text);
+            CommandReader in = reader(text);
+            while (scanner.hasNext()) {
+                assertTrue(in.hasNext());
+                assertEquals(scanner.next(), in.next());
+            }
+            assertFalse(in.hasNext());
+            assertThrows(NoSuchElementException.class, in::next);
+        }
+
+        @Test
+        void testKeywordsAreShared() {
+            String nova = "nova";
+            CommandReader in = reader("nova nova novas", nova);
+            assertSame(nova, in.next());
+            assertSame(nova, in.next());
+            assertEquals("novas", in.next());
+        }
+
+        @Test
+        void testPeek() {
+            String nova = "nova";
+            CommandReader in = reader("nova 7", nova);
+            assertSame(nova, in.peek());
+            assertSame(nova, in.peek());
+            assertSame(nova, in.next());
+            assertEquals("7", in.peek());
+            assertEquals(7, in.nextInt());
+            assertThrows(NoSuchElementException.class, in::peek);
+        }
+
+        @Test
+        void testLongTokenAndSmallReads() {
+            String longToken = "x".repeat(20000);
+            CommandReader in = new CommandReader(Channels.newChannel(new ByteArrayInputStream(
+                    (longToken + " 12").getBytes(StandardCharsets.UTF_8))));
+            assertEquals(longToken, in.next());
+            assertEquals(12, in.nextInt());
+        }
+
+        @Test
+        void testNextChar() {
+            CommandReader in = reader("n sul ótimo");
+            assertEquals('n', in.nextChar());
+            assertEquals('s', in.nextChar());
+            assertEquals('ó', in.nextChar());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Int Tests")
+    class IntTests {
+
+        @Test
+        void testInts() {
+            CommandReader in = reader("0 -0 42 +42 -2147483648 2147483647");
+            assertAll(
+                    () -> assertEquals(0, in.nextInt()),
+                    () -> assertEquals(0, in.nextInt()),
+                    () -> assertEquals(42, in.nextInt()),
+                    () -> assertEquals(42, in.nextInt()),
+                    () -> assertEquals(Integer.MIN_VALUE, in.nextInt()),
+                    () -> assertEquals(Integer.MAX_VALUE, in.nextInt())
+            );
+        }
+
+        @Test
+        void testMismatchLeavesToken() {
+            CommandReader in = reader("abc 2147483648 - 1x 5");
+            assertThrows(InputMismatchException.class, in::nextInt);
+            assertEquals("abc", in.next());
+            assertThrows(InputMismatchException.class, in::nextInt);
+            assertEquals("2147483648", in.next());
+            assertThrows(InputMismatchException.class, in::nextInt);
+            assertEquals("-", in.next());
+            assertThrows(InputMismatchException.class, in::nextInt);
+            assertEquals("1x", in.next());
+            assertEquals(5, in.nextInt());
+            assertThrows(NoSuchElementException.class, in::nextInt);
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Tasks Parsing Tests")
+    class TasksTests {
+
+        @Test
+        void testReadShipAndPosition() {
+            CommandReader in = reader("caravela 2 3 e\n4 5 submarino 0 0 n");
+            Ship s = Tasks.readShip(in);
+            assertAll(
+                    () -> assertEquals("Caravela", s.getCategory()),
+                    () -> assertEquals(Compass.EAST, s.getBearing()),
+                    () -> assertEquals(IPosition.of(2, 3), s.getPosition())
+            );
+            assertSame(IPosition.of(4, 5), Tasks.readPosition(in));
+            assertNull(Tasks.readShip(in));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for ConcurrentGame")
+class ConcurrentGameTest {
+
+    private static final int THREADS = 8;
+    private static final int SHIP_CELLS = 24;
+
+    Fleet fleet;
+    ConcurrentGame game;
+    ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new FleetGenerator(21L).nextFleet();
+        game = new ConcurrentGame(fleet);
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        game = null;
+        fleet = null;
+    }
+
+    /**
+     * Runs the task in every thread of the pool, all starting at once
+     */
+    private void inEveryThread(Runnable task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++)
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        start.countDown();
+        for (Future<?> f : futures)
+            f.get(30, TimeUnit.SECONDS);
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Single Thread Tests")
+    class SingleThreadTests {
+
+        @Test
+        void testSameResultsAsGame() {
+            Game reference = new Game(new FleetGenerator(21L).nextFleet());
+            for (int r = -1; r <= Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c <= Fleet.BOARD_SIZE; c += 2) {
+                    IPosition p = IPosition.of(r, c);
+                    assertEquals(reference.fireAt(p), game.fireAt(p), p.toString());
+                    assertEquals(reference.fireAt(p), game.fireAt(p), p.toString());
+                }
+            assertAll(
+                    () -> assertEquals(reference.getHits(), game.getHits()),
+                    () -> assertEquals(reference.getSunkShips(), game.getSunkShips()),
+                    () -> assertEquals(reference.getInvalidShots(), game.getInvalidShots()),
+                    () -> assertEquals(reference.getRepeatedShots(), game.getRepeatedShots()),
+                    () -> assertEquals(reference.getRemainingShips(), game.getRemainingShips()),
+                    () -> assertEquals(reference.getShots(), game.getShots())
+            );
+        }
+
+        @Test
+        void testFireReturnsSunkShip() {
+            IShip target = fleet.getShips().get(0);
+            IShip sunk = null;
+            for (IPosition p : target.getPositions())
+                sunk = game.fire(IPosition.of(p.getRow(), p.getColumn()));
+            assertSame(target, sunk);
+            assertEquals(new SalvoResult(0, 0, 1, 1), game.fireSalvo(IPosition.of(-1, -1),
+                    IPosition.of(target.getPosition().getRow(), target.getPosition().getColumn())));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        void testEveryThreadFiresEverywhere() throws Exception {
+            inEveryThread(() -> {
+                for (int cell = 0; cell < Fleet.BOARD_SIZE * Fleet.BOARD_SIZE; cell++)
+                    game.fireAt(IPosition.of(BoardSpec.DEFAULT, cell));
+            });
+
+            GameSnapshot snapshot = game.snapshot();
+            int cells = Fleet.BOARD_SIZE * Fleet.BOARD_SIZE;
+            assertAll(
+                    () -> assertEquals(SHIP_CELLS, snapshot.getHits()),
+                    () -> assertEquals((long) IFleet.FLEET_SIZE, snapshot.getSunkShips()),
+                    () -> assertEquals((long) (THREADS - 1) * cells, snapshot.getRepeatedShots()),
+                    () -> assertEquals(0, snapshot.getRemainingShips()),
+                    () -> assertEquals(cells, snapshot.getShots().size()),
+                    () -> assertEquals(cells, new HashSet<>(snapshot.getShots()).size())
+            );
+            for (IShip s : fleet.getShips())
+                assertFalse(s.stillFloating());
+        }
+
+        @Test
+        void testConcurrentSalvosSinkEachShipOnce() throws Exception {
+            long[] wholeBoard = new long[BoardSpec.DEFAULT.getWords()];
+            for (int cell = 0; cell < BoardSpec.DEFAULT.getCells(); cell++)
+                wholeBoard[cell >>> 6] |= 1L << cell;
+            List<SalvoResult> results = Collections.synchronizedList(new ArrayList<>());
+            inEveryThread(() -> results.add(game.fireSalvo(wholeBoard)));
+
+            int hits = 0;
+            int sinks = 0;
+            for (SalvoResult r : results) {
+                hits += r.getHits();
+                sinks += r.getSinks();
+            }
+            assertEquals(SHIP_CELLS, hits);
+            assertEquals((int) IFleet.FLEET_SIZE, sinks);
+            assertEquals(SHIP_CELLS, game.getHits());
+        }
+
+        @Test
+        void testSnapshotsAreConsistent() throws Exception {
+            AtomicBoolean done = new AtomicBoolean(false);
+            ExecutorService spectators = Executors.newSingleThreadExecutor();
+            Future<?> spectator = spectators.submit(() -> {
+                while (!done.get()) {
+                    GameSnapshot s = game.snapshot();
+                    long valid = s.getShots().size();
+                    long hitShots = s.getShots().stream().filter(p -> fleet.shipAt(p) != null).count();
+                    assertEquals(hitShots, s.getHits());
+                    assertTrue(s.getHits() <= valid);
+                    assertEquals(IFleet.FLEET_SIZE - s.getSunkShips(), s.getRemainingShips());
+                }
+                return null;
+            });
+            try {
+                inEveryThread(() -> {
+                    for (int cell = Fleet.BOARD_SIZE * Fleet.BOARD_SIZE - 1; cell >= 0; cell--)
+                        game.fire(IPosition.of(BoardSpec.DEFAULT, cell));
+                });
+            } finally {
+                done.set(true);
+                spectators.shutdown();
+            }
+            spectator.get(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Nested Tests for Coordinate")
+class CoordinateTest {
+
+    @Nested
+    @DisplayName("Interning tests")
+    class InterningTests {
+
+        @Test
+        @DisplayName("Cells inside the board are interned")
+        void testInterned() {
+            assertSame(Coordinate.of(3, 4), Coordinate.of(3, 4));
+            assertSame(IPosition.of(0, 0), Coordinate.of(0, 0));
+            assertSame(IPosition.of(9, 9), IPosition.of(BoardSpec.DEFAULT, BoardSpec.DEFAULT.index(9, 9)));
+        }
+
+        @Test
+        @DisplayName("Cells outside the board are fresh instances")
+        void testOutsideNotInterned() {
+            Coordinate a = Coordinate.of(-1, 4);
+            Coordinate b = Coordinate.of(-1, 4);
+            assertNotSame(a, b);
+            assertEquals(a, b);
+            assertNotSame(Coordinate.of(Fleet.BOARD_SIZE, 0), Coordinate.of(Fleet.BOARD_SIZE, 0));
+            assertNotSame(Coordinate.of(0, Fleet.BOARD_SIZE), Coordinate.of(0, Fleet.BOARD_SIZE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Indexing tests")
+    class IndexingTests {
+
+        @Test
+        @DisplayName("Every cell of the standard board has its own interned coordinate")
+        void testEveryCellInterned() {
+            Set<Coordinate> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int r = 0; r < Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c < Fleet.BOARD_SIZE; c++) {
+                    Coordinate coordinate = Coordinate.of(r, c);
+                    assertSame(coordinate, Coordinate.of(r, c));
+                    assertEquals(r, coordinate.getRow());
+                    assertEquals(c, coordinate.getColumn());
+                    distinct.add(coordinate);
+                }
+            assertEquals(Fleet.BOARD_SIZE * Fleet.BOARD_SIZE, distinct.size());
+        }
+
+        @Test
+        @DisplayName("of(spec, index) takes the index of a cell on that board")
+        void testOfSpecIndex() {
+            BoardSpec wide = new BoardSpec(4, 30, ShipType.BARGE);
+            for (int r = 0; r < wide.getHeight(); r++)
+                for (int c = 0; c < wide.getWidth(); c++) {
+                    IPosition p = IPosition.of(wide, wide.index(r, c));
+                    assertEquals(r, p.getRow());
+                    assertEquals(c, p.getColumn());
+                }
+            assertSame(IPosition.of(2, 7), IPosition.of(wide, wide.index(2, 7)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Immutability tests")
+    class ImmutabilityTests {
+
+        @Test
+        @DisplayName("Coordinates carry no hit or occupied state")
+        void testNoState() {
+            Coordinate c = Coordinate.of(1, 1);
+            assertThrows(UnsupportedOperationException.class, c::shoot);
+            assertThrows(UnsupportedOperationException.class, c::occupy);
+            assertFalse(c.isHit());
+            assertFalse(c.isOccupied());
+        }
+
+        @Test
+        @DisplayName("Shooting a ship with a coordinate hits the ship position only")
+        void testShootShipWithCoordinate() {
+            Ship s = new Caravel(Compass.EAST, new Position(2, 2));
+            IPosition probe = IPosition.of(2, 3);
+            s.shoot(probe);
+
+            assertTrue(s.getPositions().get(1).isHit());
+            assertFalse(probe.isHit());
+            assertTrue(s.occupies(probe));
+        }
+    }
+
+    @Nested
+    @DisplayName("Equality tests")
+    class EqualityTests {
+
+        @Test
+        @DisplayName("Coordinates equal positions with the same row and column")
+        void testEqualsPosition() {
+            Position p = new Position(4, 5);
+            Coordinate c = Coordinate.of(4, 5);
+            assertEquals(c, p);
+            assertEquals(p, c);
+            assertNotEquals(c, Coordinate.of(5, 4));
+            assertNotEquals(c, "Linha = 4 Coluna = 5");
+        }
+
+        @Test
+        @DisplayName("isAdjacentTo and toString behave as in Position")
+        void testAdjacencyAndToString() {
+            Coordinate c = Coordinate.of(2, 2);
+            assertTrue(c.isAdjacentTo(new Position(3, 3)));
+            assertFalse(c.isAdjacentTo(Coordinate.of(4, 2)));
+            assertEquals(new Position(2, 2).toString(), c.toString());
+        }
+    }
+}
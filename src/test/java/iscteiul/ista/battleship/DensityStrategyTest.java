@@ -0,0 +1,103 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for DensityStrategy")
+class DensityStrategyTest {
+
+    DensityStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new DensityStrategy(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Hunting Tests")
+    class HuntingTests {
+
+        @Test
+        void testFirstShotAvoidsBorders() {
+            IPosition shot = strategy.nextShot();
+            assertTrue(shot.getRow() > 0 && shot.getRow() < Fleet.BOARD_SIZE - 1, shot.toString());
+            assertTrue(shot.getColumn() > 0 && shot.getColumn() < Fleet.BOARD_SIZE - 1, shot.toString());
+        }
+
+        @Test
+        void testNeverFiresTwiceAtTheSameCell() {
+            Set<IPosition> fired = new HashSet<>();
+            for (int i = 0; i < Fleet.BOARD_SIZE * Fleet.BOARD_SIZE; i++) {
+                IPosition shot = strategy.nextShot();
+                assertTrue(fired.add(shot), "repeated " + shot);
+                strategy.shotResult(shot, false, null);
+            }
+            assertThrows(IllegalStateException.class, strategy::nextShot);
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Targeting Tests")
+    class TargetingTests {
+
+        @Test
+        void testFiresNextToAHit() {
+            IPosition hit = IPosition.of(5, 5);
+            strategy.shotResult(hit, true, null);
+            IPosition shot = strategy.nextShot();
+            assertEquals(1, Math.abs(shot.getRow() - 5) + Math.abs(shot.getColumn() - 5), shot.toString());
+        }
+
+        @Test
+        void testSurroundingsOfSunkShipAreSkipped() {
+            Ship barge = new Barge(Compass.NORTH, new Position(0, 0));
+            strategy.shotResult(IPosition.of(0, 0), true, barge);
+            for (int i = 0; i < 20; i++) {
+                IPosition shot = strategy.nextShot();
+                assertFalse(shot.getRow() <= 1 && shot.getColumn() <= 1, shot.toString());
+                strategy.shotResult(shot, false, null);
+            }
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Simulation Tests")
+    class SimulationTests {
+
+        @Test
+        void testBeatsRandomShots() {
+            SimulationReport density = new Simulator(DensityStrategy::new).run(200, 3L);
+            SimulationReport random = new Simulator(RandomStrategy::new).run(200, 3L);
+            assertEquals(200, density.getGamesWon());
+            assertEquals(0, density.getRepeatedShots());
+            assertEquals(0, density.getInvalidShots());
+            assertTrue(density.getMeanShots() < 0.75 * random.getMeanShots(),
+                    density.getMeanShots() + " vs " + random.getMeanShots());
+        }
+
+        @Test
+        void testRectangularBoard() {
+            BoardSpec spec = new BoardSpec(8, 25, ShipType.GALLEON, ShipType.FRIGATE, ShipType.CARAVEL,
+                    ShipType.BARGE);
+            Simulator simulator = new Simulator(spec, seed -> new DensityStrategy(spec, seed),
+                    ForkJoinPool.commonPool());
+            SimulationReport report = simulator.run(50, 8L);
+            assertEquals(50, report.getGamesWon());
+            assertEquals(50L * (5 + 4 + 2 + 1), report.getHits());
+            assertTrue(report.getMaxShots() < spec.getCells());
+        }
+    }
+}
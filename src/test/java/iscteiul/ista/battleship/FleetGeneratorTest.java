@@ -0,0 +1,153 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for FleetGenerator")
+class FleetGeneratorTest {
+
+    FleetGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new FleetGenerator(42L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator = null;
+    }
+
+    // A ship belongs to a single fleet: fleets are replayed with copies
+    private static IShip copy(IShip s) {
+        return ShipType.ofCategory(s.getCategory()).build(s.getBearing(), s.getPosition());
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Validity Tests")
+    class ValidityTests {
+
+        @Test
+        void testFleetsAreAcceptedByFleet() {
+            for (int i = 0; i < 500; i++) {
+                Fleet generated = generator.nextFleet();
+                assertEquals(IFleet.FLEET_SIZE, generated.getShips().size());
+
+                Fleet replay = new Fleet();
+                for (IShip s : generated.getShips())
+                    assertTrue(replay.addShip(copy(s)), "rejected " + s);
+            }
+        }
+
+        @Test
+        void testCompositionIsLargestFirst() {
+            ShipType[] composition = generator.getComposition();
+            assertEquals(IFleet.FLEET_SIZE, composition.length);
+            for (int i = 1; i < composition.length; i++)
+                assertTrue(composition[i - 1].getSize() >= composition[i].getSize());
+        }
+
+        @Test
+        void testCustomComposition() {
+            FleetGenerator galleons = new FleetGenerator(
+                    new ShipType[]{ShipType.BARGE, ShipType.GALLEON, ShipType.GALLEON}, 7L);
+            Fleet fleet = galleons.nextFleet();
+            assertEquals(2, fleet.getShipsLike("Galeao").size());
+            assertEquals(1, fleet.getShipsLike("Barca").size());
+        }
+
+        @Test
+        void testUnplaceableFleetRejected() {
+            ShipType[] tooMany = new ShipType[30];
+            Arrays.fill(tooMany, ShipType.GALLEON);
+            FleetGenerator crowded = new FleetGenerator(tooMany, 1L);
+            assertThrows(IllegalStateException.class, crowded::nextLayout);
+        }
+
+        @Test
+        void testRejectedShipReported() {
+            FleetGenerator overlapping = new FleetGenerator(
+                    new ShipType[]{ShipType.BARGE, ShipType.BARGE}, 1L) {
+                @Override
+                public int[] nextLayout() {
+                    return new int[]{0, 0};
+                }
+            };
+            assertThrows(IllegalStateException.class, overlapping::nextFleet);
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Board Size Tests")
+    class BoardSizeTests {
+
+        @Test
+        void testLargeBoardManyShips() {
+            ShipType[] composition = new ShipType[300];
+            for (int i = 0; i < composition.length; i++)
+                composition[i] = ShipType.values()[i % ShipType.values().length];
+            BoardSpec spec = BoardSpec.square(100, composition);
+            FleetGenerator large = new FleetGenerator(spec, 5L);
+
+            Fleet generated = large.nextFleet();
+            assertEquals(spec, generated.getBoardSpec());
+            assertEquals(300, generated.getShips().size());
+
+            Fleet replay = new Fleet(spec);
+            for (IShip s : generated.getShips())
+                assertTrue(replay.addShip(copy(s)), "rejected " + s);
+        }
+
+        @Test
+        void testRectangularBoard() {
+            BoardSpec spec = new BoardSpec(6, 40, ShipType.FRIGATE, ShipType.CARAVEL, ShipType.BARGE);
+            Fleet fleet = new FleetGenerator(spec, 9L).nextFleet();
+            assertEquals(3, fleet.getShips().size());
+            for (IShip s : fleet.getShips())
+                assertTrue(s.getBoundingBox().isInside(6, 40));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Reproducibility Tests")
+    class ReproducibilityTests {
+
+        @Test
+        void testSameSeedSameLayouts() {
+            FleetGenerator other = new FleetGenerator(42L);
+            for (int i = 0; i < 100; i++)
+                assertArrayEquals(generator.nextLayout().clone(), other.nextLayout());
+        }
+
+        @Test
+        void testDifferentSeedsDiffer() {
+            FleetGenerator other = new FleetGenerator(43L);
+            boolean differ = false;
+            for (int i = 0; i < 10 && !differ; i++)
+                differ = !Arrays.equals(generator.nextLayout().clone(), other.nextLayout());
+            assertTrue(differ);
+        }
+
+        @Test
+        void testLayoutMatchesFleet() {
+            FleetGenerator other = new FleetGenerator(42L);
+            int[] layout = generator.nextLayout();
+            Fleet fleet = other.nextFleet();
+            ShipType[] composition = generator.getComposition();
+            for (int i = 0; i < layout.length; i++) {
+                IShip ship = fleet.getShips().get(i);
+                PlacementTable table = generator.getTable();
+                assertEquals(composition[i], ShipType.ofCategory(ship.getCategory()));
+                assertEquals(table.getBearing(composition[i], layout[i]), ship.getBearing());
+                assertEquals(table.getAnchor(composition[i], layout[i]),
+                        BoardSpec.DEFAULT.index(ship.getPosition().getRow(), ship.getPosition().getColumn()));
+            }
+        }
+    }
+}
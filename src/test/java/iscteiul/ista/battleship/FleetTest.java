@@ -24,6 +24,17 @@ class FleetTest {
     @DisplayName("AddShip Tests")
     class AddShipTests {
 
+        @Test
+        void testShipOfAnotherFleetRejected() {
+            Ship s = new Barge(Compass.NORTH, new Position(4, 4));
+            assertTrue(fleet.addShip(s));
+            Fleet other = new Fleet();
+            assertFalse(other.addShip(s));
+            assertTrue(other.getShips().isEmpty());
+            assertEquals(0, other.getFloatingCount());
+            assertTrue(fleet.addShip(new Barge(Compass.NORTH, new Position(0, 0))));
+        }
+
         @Test
         void testAddValidShip() {
             Ship s = new Barge(Compass.EAST, new Position(0, 0));
@@ -66,6 +77,31 @@ class FleetTest {
             assertTrue(fleet.addShip(s2));
         }
 
+        @Test
+        void testDiagonalNeighbourRejected() {
+            assertTrue(fleet.addShip(new Barge(Compass.EAST, new Position(4, 4))));
+            assertFalse(fleet.addShip(new Barge(Compass.EAST, new Position(5, 5))));
+            assertFalse(fleet.addShip(new Barge(Compass.EAST, new Position(3, 3))));
+            assertTrue(fleet.addShip(new Barge(Compass.EAST, new Position(6, 6))));
+        }
+
+        @Test
+        void testHaloAgreesWithTooCloseTo() {
+            Ship galleon = new Galleon(Compass.SOUTH, new Position(4, 5));
+            assertTrue(fleet.addShip(galleon));
+
+            for (Compass bearing : new Compass[]{Compass.NORTH, Compass.EAST})
+                for (int r = 0; r < Fleet.BOARD_SIZE; r++)
+                    for (int c = 0; c < Fleet.BOARD_SIZE; c++) {
+                        Fleet single = new Fleet();
+                        single.addShip(new Galleon(Compass.SOUTH, new Position(4, 5)));
+                        Ship candidate = new Caravel(bearing, new Position(r, c));
+                        boolean inside = candidate.getBoundingBox().isInside(Fleet.BOARD_SIZE, Fleet.BOARD_SIZE);
+                        boolean expected = inside && !galleon.tooCloseTo(candidate);
+                        assertEquals(expected, single.addShip(candidate), candidate.toString());
+                    }
+        }
+
         @Test
         void testOutsideLeftBoundary() {
             Ship s = new Barge(Compass.EAST, new Position(0, -1));
@@ -169,6 +205,55 @@ class FleetTest {
 
             assertTrue(fleet.getFloatingShips().isEmpty());
         }
+
+        @Test
+        void testFloatingCountFollowsSinks() {
+            Ship s1 = new Barge(Compass.EAST, new Position(0, 0));
+            Ship s2 = new Caravel(Compass.EAST, new Position(2, 2));
+            fleet.addShip(s1);
+            fleet.addShip(s2);
+            assertEquals(2, fleet.getFloatingCount());
+
+            s2.shoot(new Position(2, 2));
+            s2.shoot(new Position(2, 2));
+            assertEquals(2, fleet.getFloatingCount());
+
+            s2.shoot(new Position(2, 3));
+            assertEquals(1, fleet.getFloatingCount());
+
+            s1.shoot(new Position(0, 0));
+            s1.shoot(new Position(0, 0));
+            assertEquals(0, fleet.getFloatingCount());
+            assertEquals(fleet.getFloatingShips().size(), fleet.getFloatingCount());
+        }
+
+        @Test
+        void testFloatingCountFollowsPositionHits() {
+            Ship s1 = new Caravel(Compass.EAST, new Position(2, 2));
+            Ship s2 = new Barge(Compass.EAST, new Position(5, 5));
+            fleet.addShip(s1);
+            fleet.addShip(s2);
+
+            s1.getPositions().get(0).shoot();
+            assertTrue(s1.stillFloating());
+            assertEquals(1, s1.getRemainingHitPoints());
+            s1.getPositions().forEach(IPosition::shoot);
+            assertFalse(s1.stillFloating());
+            assertEquals(0, s1.getRemainingHitPoints());
+            assertEquals(1, fleet.getFloatingCount());
+            assertEquals(fleet.getFloatingShips().size(), fleet.getFloatingCount());
+        }
+
+        @Test
+        void testFloatingCountIgnoresRejectedShips() {
+            Ship s1 = new Barge(Compass.EAST, new Position(0, 0));
+            Ship s2 = new Barge(Compass.EAST, new Position(0, 1));
+            fleet.addShip(s1);
+            fleet.addShip(s2);
+
+            s2.shoot(new Position(0, 1));
+            assertEquals(1, fleet.getFloatingCount());
+        }
     }
 
     // ======================================================
@@ -0,0 +1,190 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameArchive, ArchiveWriter and ArchivedGame")
+class GameArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    Path file;
+    List<Game> games;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("games.bsa");
+        games = new ArrayList<>();
+        for (long seed = 0; seed < 20; seed++) {
+            Game game = new Game(new FleetGenerator(seed).nextFleet());
+            for (int cell = (int) seed; cell < Fleet.BOARD_SIZE * Fleet.BOARD_SIZE; cell += 3)
+                game.fire(IPosition.of(BoardSpec.DEFAULT, cell));
+            game.fire(IPosition.of(-1, 0));
+            games.add(game);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        file = null;
+        games = null;
+    }
+
+    private void write(int segmentShift) throws IOException {
+        try (ArchiveWriter writer = new ArchiveWriter(file, segmentShift)) {
+            for (Game game : games)
+                writer.add(game);
+            assertEquals(games.size(), writer.size());
+        }
+    }
+
+    private static void assertSameGame(Game expected, ArchivedGame actual) {
+        assertEquals(expected.getShots().size(), actual.getShotCount());
+        for (int i = 0; i < actual.getShotCount(); i++) {
+            assertEquals(expected.getShots().get(i).getRow(), actual.getShotRow(i));
+            assertEquals(expected.getShots().get(i).getColumn(), actual.getShotColumn(i));
+        }
+        assertEquals(expected.getHits(), actual.countHits());
+        List<IShip> ships = expected.getFleet().getShips();
+        assertEquals(ships.size(), actual.getShipCount());
+        for (int i = 0; i < ships.size(); i++) {
+            assertEquals(ShipType.ofCategory(ships.get(i).getCategory()), actual.getShipType(i));
+            assertEquals(ships.get(i).getBearing(), actual.getShipBearing(i));
+            assertEquals(ships.get(i).getPosition().getRow(), actual.getShipRow(i));
+            assertEquals(ships.get(i).getPosition().getColumn(), actual.getShipColumn(i));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Reading Tests")
+    class ReadingTests {
+
+        @Test
+        void testRandomAccess() throws IOException {
+            write(ArchiveWriter.DEFAULT_SEGMENT_SHIFT);
+            GameArchive archive = new GameArchive(file);
+            assertEquals(games.size(), archive.size());
+            for (int n = games.size() - 1; n >= 0; n -= 3)
+                assertSameGame(games.get(n), archive.get(n));
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.get(games.size()));
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.get(0).getShotRow(-1));
+        }
+
+        @Test
+        void testForEach() throws IOException {
+            write(ArchiveWriter.DEFAULT_SEGMENT_SHIFT);
+            GameArchive archive = new GameArchive(file);
+            int[] n = {0};
+            archive.forEach(g -> assertSameGame(games.get(n[0]++), g));
+            assertEquals(games.size(), n[0]);
+        }
+
+        @Test
+        void testBitboardAndBoard() throws IOException {
+            write(ArchiveWriter.DEFAULT_SEGMENT_SHIFT);
+            ArchivedGame archived = new GameArchive(file).get(4);
+            IFleet fleet = games.get(4).getFleet();
+            int occupied = 0;
+            for (int w = 0; w < BoardSpec.DEFAULT.getWords(); w++)
+                occupied += Long.bitCount(archived.getOccupiedWord(w));
+            for (int r = 0; r < Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c < Fleet.BOARD_SIZE; c++)
+                    assertEquals(fleet.shipAt(IPosition.of(r, c)) != null, archived.isOccupied(r, c));
+            int cells = 0;
+            for (IShip s : fleet.getShips())
+                cells += s.getSize();
+            assertEquals(cells, occupied);
+            assertEquals(BoardSpec.DEFAULT, archived.getBoardSpec());
+            assertFalse(archived.isOccupied(Fleet.BOARD_SIZE, 0));
+        }
+
+        @Test
+        void testReplay() throws IOException {
+            write(ArchiveWriter.DEFAULT_SEGMENT_SHIFT);
+            Game replayed = new GameArchive(file).get(7).replay();
+            Game original = games.get(7);
+            assertAll(
+                    () -> assertEquals(original.getShots(), replayed.getShots()),
+                    () -> assertEquals(original.getHits(), replayed.getHits()),
+                    () -> assertEquals(original.getSunkShips(), replayed.getSunkShips()),
+                    () -> assertEquals(0, replayed.getInvalidShots())
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Segment Tests")
+    class SegmentTests {
+
+        @Test
+        void testRecordsNeverCrossSegments() throws IOException {
+            write(10);
+            GameArchive archive = new GameArchive(file);
+            for (int n = 0; n < games.size(); n++)
+                assertSameGame(games.get(n), archive.get(n));
+            long unpadded = ArchiveWriter.HEADER + ArchiveWriter.TRAILER + (long) Long.BYTES * games.size();
+            for (Game game : games)
+                unpadded += ArchiveWriter.recordSize(game.getFleet().getShips().size(),
+                        BoardSpec.DEFAULT.getWords(), game.getShots().size());
+            assertTrue(Files.size(file) > unpadded);
+        }
+
+        @Test
+        void testRecordTooLarge() throws IOException {
+            Game game = new Game(new FleetGenerator(BoardSpec.square(200, ShipType.BARGE), 1L).nextFleet());
+            try (ArchiveWriter writer = new ArchiveWriter(file, 10)) {
+                assertThrows(IllegalArgumentException.class, () -> writer.add(game));
+            }
+            assertEquals(0, new GameArchive(file).size());
+        }
+
+        @Test
+        void testLargeBoard() throws IOException {
+            BoardSpec spec = BoardSpec.square(500, ShipType.GALLEON, ShipType.CARRACK, ShipType.BARGE);
+            Game game = new Game(new FleetGenerator(spec, 2L).nextFleet());
+            for (IShip s : game.getFleet().getShips())
+                for (IPosition p : s.getPositions())
+                    game.fire(p);
+            game.fire(new Position(499, 500));
+            try (ArchiveWriter writer = new ArchiveWriter(file)) {
+                writer.add(game);
+                writer.add(games.get(0));
+            }
+            GameArchive archive = new GameArchive(file);
+            assertSameGame(game, archive.get(0));
+            assertEquals(spec, archive.get(0).getBoardSpec());
+            assertEquals(0, archive.get(0).replay().getRemainingShips());
+            assertSameGame(games.get(0), archive.get(1));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        void testNotAnArchive() throws IOException {
+            Files.writeString(file, "isto nao e um arquivo de jogos");
+            assertThrows(IOException.class, () -> new GameArchive(file));
+            Files.writeString(file, "curto");
+            assertThrows(IOException.class, () -> new GameArchive(file));
+        }
+
+        @Test
+        void testInvalidSegmentShift() {
+            assertThrows(IllegalArgumentException.class, () -> new ArchiveWriter(file, 31));
+        }
+    }
+}
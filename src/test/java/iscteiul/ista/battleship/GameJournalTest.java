@@ -0,0 +1,169 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameJournal and JournalReader")
+class GameJournalTest {
+
+    @TempDir
+    Path dir;
+
+    Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("games.bsj");
+    }
+
+    @AfterEach
+    void tearDown() {
+        file = null;
+    }
+
+    private static void playAll(Game game) {
+        for (int r = -1; r <= Fleet.BOARD_SIZE; r++)
+            for (int c = 0; c <= Fleet.BOARD_SIZE; c += 3)
+                game.fire(IPosition.of(r, c));
+        game.fireSalvo(IPosition.of(0, 0), IPosition.of(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static void assertSameGame(Game expected, Game actual) {
+        assertAll(
+                () -> assertEquals(expected.getShots(), actual.getShots()),
+                () -> assertEquals(expected.getStats(), actual.getStats()),
+                () -> assertEquals(expected.getRemainingShips(), actual.getRemainingShips())
+        );
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Replay Tests")
+    class ReplayTests {
+
+        @Test
+        void testReplaySeveralGames() throws IOException {
+            Game first;
+            Game second;
+            try (GameJournal journal = new GameJournal(file)) {
+                first = new Game(new FleetGenerator(3L).nextFleet(), journal);
+                playAll(first);
+                second = new Game(new FleetGenerator(4L).nextFleet(), journal);
+                second.fireSalvo(new long[]{-1L, -1L, -1L});
+                assertTrue(journal.getEvents() > 40);
+            }
+
+            try (JournalReader reader = new JournalReader(file)) {
+                assertSameGame(first, reader.nextGame());
+                assertSameGame(second, reader.nextGame());
+                assertNull(reader.nextGame());
+            }
+        }
+
+        @Test
+        void testAppendToExistingJournal() throws IOException {
+            try (GameJournal journal = new GameJournal(file)) {
+                new Game(new FleetGenerator(5L).nextFleet(), journal).fire(IPosition.of(1, 1));
+            }
+            Game later;
+            try (GameJournal journal = new GameJournal(file)) {
+                later = new Game(new FleetGenerator(6L).nextFleet(), journal);
+                playAll(later);
+            }
+            try (JournalReader reader = new JournalReader(file)) {
+                assertEquals(1, reader.nextGame().getShots().size());
+                assertSameGame(later, reader.nextGame());
+                assertNull(reader.nextGame());
+            }
+        }
+
+        @Test
+        void testLargeBoardAndManyShots() throws IOException {
+            BoardSpec spec = BoardSpec.square(300, ShipType.GALLEON, ShipType.CARAVEL, ShipType.BARGE);
+            Game game;
+            try (GameJournal journal = new GameJournal(file)) {
+                game = new Game(new FleetGenerator(spec, 8L).nextFleet(), journal);
+                for (int cell = 0; cell < spec.getCells(); cell += 7)
+                    game.fire(new Position(spec.row(cell), spec.column(cell)));
+            }
+            assertTrue(Files.size(file) < 5L * game.getShots().size());
+            try (JournalReader reader = new JournalReader(file)) {
+                assertSameGame(game, reader.nextGame());
+            }
+        }
+
+        @Test
+        void testCompactShots() throws IOException {
+            try (GameJournal journal = new GameJournal(file)) {
+                Game game = new Game(new Fleet(), journal);
+                journal.flush();
+                long fleetEnd = Files.size(file);
+                for (int r = 0; r <= Fleet.BOARD_SIZE; r++)
+                    game.fire(IPosition.of(r, 0));
+                journal.flush();
+                assertEquals(2L * (Fleet.BOARD_SIZE + 1), Files.size(file) - fleetEnd);
+            }
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        void testShotOfEarlierGameRejected() throws IOException {
+            try (GameJournal journal = new GameJournal(file)) {
+                Game first = new Game(new Fleet(), journal);
+                new Game(new Fleet(), journal);
+                assertThrows(IllegalStateException.class, () -> first.fire(IPosition.of(0, 0)));
+            }
+        }
+
+        @Test
+        void testNotAJournal() throws IOException {
+            Files.writeString(file, "nao sou um diario");
+            assertThrows(IOException.class, () -> new JournalReader(file));
+            assertThrows(IOException.class, () -> new GameJournal(file));
+        }
+
+        @Test
+        void testTamperedOutcomeDetected() throws IOException {
+            try (GameJournal journal = new GameJournal(file)) {
+                Fleet fleet = new Fleet();
+                fleet.addShip(new Barge(Compass.EAST, new Position(0, 0)));
+                new Game(fleet, journal).fire(IPosition.of(5, 5));
+            }
+            // the last record is the miss at (5, 5): header then cell
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.wrap(new byte[]{(byte) (ShotOutcome.HIT.code(0) << 1 | 1)});
+                channel.write(header, channel.size() - 2);
+            }
+            try (JournalReader reader = new JournalReader(file)) {
+                assertThrows(IOException.class, reader::nextGame);
+            }
+        }
+
+        @Test
+        void testTruncatedJournal() throws IOException {
+            try (GameJournal journal = new GameJournal(file)) {
+                new Game(new FleetGenerator(9L).nextFleet(), journal);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+            try (JournalReader reader = new JournalReader(file)) {
+                assertThrows(IOException.class, reader::nextGame);
+            }
+        }
+    }
+}
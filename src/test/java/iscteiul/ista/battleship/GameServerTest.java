@@ -0,0 +1,140 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameServer")
+class GameServerTest {
+
+    GameServer server;
+    InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 42).start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+        server = null;
+    }
+
+    /**
+     * Waits for the server to close the sessions of the clients gone
+     */
+    private void awaitSessions(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getSessionCount() != count; i++)
+            Thread.sleep(10);
+        assertEquals(count, server.getSessionCount());
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Protocol Tests")
+    class ProtocolTests {
+
+        @Test
+        void testGame() throws IOException, InterruptedException {
+            try (GameClient client = new GameClient(address)) {
+                GameSession session = server.getSession(client.getId());
+                assertNotNull(session);
+                assertEquals(1, server.getSessionCount());
+
+                assertEquals("", client.send("estado"));
+                assertEquals("2 navios adicionados com sucesso!\n", client.send("nova fragata 0 0 e barca 9 9 n"));
+                assertEquals("Hits: 1 Inv: 0 Rep: 0 Restam 2 navios.\n", client.send("rajada 0 0 5 5 6 6"));
+                assertEquals("Que comando é esse??? Repete ...\n", client.send("ação"));
+                assertEquals("Argumentos invalidos para rajada!\n", client.send("rajada 1"));
+                assertTrue(client.send("mapa").startsWith("####......\n"));
+                assertTrue(client.send("ver").startsWith("X.........\n"));
+                assertEquals(3, session.getGame().getShots().size());
+
+                assertEquals("Bons ventos!\n", client.send("desisto"));
+                assertTrue(client.isClosedByServer());
+            }
+            awaitSessions(0);
+        }
+
+        @Test
+        void testLinesInOneWrite() throws IOException {
+            try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                OutputStream out = socket.getOutputStream();
+                out.write("nova barca 0 0 n\n\n\r\nrajada 0 0 1 1 2 2 extra\r\ndesisto\n".getBytes(
+                        StandardCharsets.UTF_8));
+                out.flush();
+                String all = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                String nl = System.lineSeparator();
+                assertTrue(all.matches("Jogo \\d+" + nl + "\\." + nl
+                        + "1 navios adicionados com sucesso!" + nl + "\\." + nl
+                        + "Mas\\.\\.\\. mas\\.\\.\\. Barcas nao sao a prova de bala\\? .*" + nl
+                        + "Hits: 1 .*" + nl + "Maldito .*" + nl + "\\." + nl
+                        + "Bons ventos!" + nl + "\\." + nl), all);
+            }
+        }
+
+        @Test
+        void testLongLineCloses() throws IOException, InterruptedException {
+            try (GameClient client = new GameClient(address)) {
+                assertEquals("Linha demasiado longa!\n", client.send("x".repeat(GameServer.MAX_LINE + 1)));
+                assertTrue(client.isClosedByServer());
+            }
+            awaitSessions(0);
+        }
+
+        @Test
+        void testSessionTable() throws IOException, InterruptedException {
+            List<GameClient> clients = new ArrayList<>();
+            try {
+                for (int i = 0; i < 50; i++)
+                    clients.add(new GameClient(address));
+                assertEquals(50, server.getSessionCount());
+                assertEquals(50, clients.stream().mapToLong(GameClient::getId).distinct().count());
+                for (GameClient client : clients)
+                    assertNotNull(server.getSession(client.getId()));
+            } finally {
+                for (GameClient client : clients)
+                    client.close();
+            }
+            awaitSessions(0);
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Load Tests")
+    class LoadTests {
+
+        @Test
+        void testLoad() throws InterruptedException {
+            LoadGenerator.Report report = new LoadGenerator(address, 300, 4, 5).run(7);
+            assertAll(
+                    () -> assertEquals(300, report.getSessions()),
+                    () -> assertEquals(0, report.getErrors()),
+                    () -> assertEquals(300L * (1 + 2 * 5 + 1), report.getCommands()),
+                    () -> assertTrue(report.getCommandsPerSecond() > 0)
+            );
+            awaitSessions(0);
+        }
+
+        @Test
+        void testClose() throws IOException {
+            GameClient client = new GameClient(address);
+            server.close();
+            assertThrows(IOException.class, () -> client.send("auto"));
+            assertEquals(0, server.getSessionCount());
+            client.close();
+        }
+    }
+}
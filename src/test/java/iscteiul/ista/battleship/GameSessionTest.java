@@ -0,0 +1,254 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameSession")
+class GameSessionTest {
+    private static final String NL = System.lineSeparator();
+
+    GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new GameSession(7, 42);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session = null;
+    }
+
+    private String run(String line) {
+        CommandReader in = GameSession.newReader(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
+        StringBuilder out = new StringBuilder();
+        session.execute(in, out);
+        return out.toString();
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Command Tests")
+    class CommandTests {
+
+        @Test
+        void testNoGameYet() {
+            assertAll(
+                    () -> assertEquals(7, session.getId()),
+                    () -> assertNull(session.getGame()),
+                    () -> assertEquals("", run("estado")),
+                    () -> assertEquals("", run("rajada 1 1 2 2 3 3")),
+                    () -> assertEquals("", run("auto")),
+                    () -> assertEquals(3, session.getCommands())
+            );
+        }
+
+        @Test
+        void testFleetFromShips() {
+            assertEquals("Navio desconhecido!" + NL + "2 navios adicionados com sucesso!" + NL,
+                    run("nova fragata 0 0 e submarino 5 5 n barca 9 9 n"));
+            assertEquals(2, session.getGame().getFleet().getShips().size());
+            assertEquals("Hits: 1 Inv: 1 Rep: 0 Restam 2 navios." + NL, run("rajada 9 8 0 0 -1 3"));
+        }
+
+        @Test
+        void testRandomFleetAndVictory() {
+            assertEquals(BoardSpec.DEFAULT.getFleetSize() + " navios adicionados com sucesso!" + NL, run("nova"));
+            String answer = "";
+            for (int i = 0; i < 40 && session.getGame().getRemainingShips() > 0; i++)
+                answer = run("auto");
+            assertEquals(0, session.getGame().getRemainingShips());
+            assertTrue(answer.contains("Afundei um(a) "));
+            assertTrue(answer.endsWith("Restam 0 navios." + NL));
+        }
+
+        @Test
+        void testBoards() {
+            run("nova barca 0 0 n");
+            run("rajada 0 0 1 1 2 2");
+            String shots = run("ver");
+            String fleet = run("mapa");
+            assertAll(
+                    () -> assertTrue(shots.startsWith("X........." + NL + ".X")),
+                    () -> assertTrue(fleet.startsWith("#........." + NL)),
+                    () -> assertTrue(run("estado").contains("Barca"))
+            );
+        }
+
+        @Test
+        void testRenderer() {
+            StringBuilder boards = new StringBuilder();
+            run("nova barca 0 0 n");
+            session.setRenderer(new BoardRenderer(boards::append));
+            assertAll(
+                    () -> assertEquals("", run("mapa")),
+                    () -> assertEquals("", run("estado")),
+                    () -> assertEquals("Hits: 0 Inv: 0 Rep: 0 Restam 1 navios." + NL, run("rajada 5 5 6 6 7 7")),
+                    () -> assertTrue(boards.toString().startsWith("#........." + NL))
+            );
+            run("nova barca 9 9 n");
+            assertEquals("", run("ver"));
+        }
+
+        @Test
+        void testBadInput() {
+            run("nova barca 0 0 n");
+            assertAll(
+                    () -> assertEquals("Que comando é esse??? Repete ..." + NL, run("xpto")),
+                    () -> assertEquals("Argumentos invalidos para rajada!" + NL, run("rajada 1 1 2")),
+                    () -> assertEquals("Argumentos invalidos para rajada!" + NL, run("rajada a b c d e f")),
+                    () -> assertEquals(0, session.getGame().getShots().size())
+            );
+        }
+
+        @Test
+        void testModes() {
+            session = new GameSession(1, 1, GameSession.Mode.FLEETS);
+            assertAll(
+                    () -> assertEquals("Que comando é esse??? Repete lá ..." + NL, run("mapa")),
+                    () -> assertEquals("Que comando é esse??? Repete lá ..." + NL, run("rajada 1 1 2 2 3 3")),
+                    () -> assertFalse(GameSession.Mode.CHEATING.accepts("auto")),
+                    () -> assertTrue(GameSession.Mode.CHEATING.accepts("desisto"))
+            );
+            session = new GameSession(1, 1, GameSession.Mode.CHEATING);
+            assertEquals("null" + NL, run("mapa"));
+        }
+
+        @Test
+        void testTaskDCommands() {
+            session = new GameSession(1, 1, GameSession.Mode.BATTLE);
+            assertAll(
+                    () -> assertEquals("0 navios adicionados com sucesso!" + NL, run("nova")),
+                    () -> assertEquals("Hits: 0 Inv: 0 Rep: 0 Restam 0 navios." + NL, run("auto")),
+                    () -> assertEquals("1 navios adicionados com sucesso!" + NL, run("nova barca 0 0 n")),
+                    () -> assertTrue(run("auto").startsWith("Computador dispara em ")),
+                    () -> assertEquals(3, session.getGame().getShots().size()),
+                    () -> assertFalse(GameSession.Mode.BATTLE.hasRandomFleets()),
+                    () -> assertTrue(GameSession.Mode.SERVER.hasRandomFleets()),
+                    () -> assertTrue(GameSession.Mode.BATTLE.accepts("auto"))
+            );
+        }
+
+        @Test
+        void testSalvoNamesEachSunkShip() {
+            run("nova barca 0 0 n caravela 5 5 e barca 9 9 n");
+            assertEquals("Mas... mas... Barcas nao sao a prova de bala? :-(" + NL
+                    + "Mas... mas... Caravelas nao sao a prova de bala? :-(" + NL
+                    + "Hits: 3 Inv: 0 Rep: 0 Restam 1 navios." + NL, run("rajada 0 0 5 5 5 6"));
+        }
+
+        @Test
+        void testShotOutput() {
+            List<String> patterns = new ArrayList<>();
+            session.setShotOutput(new GameSession.Output() {
+                @Override
+                public void message(String pattern) {
+                    patterns.add(pattern);
+                }
+
+                @Override
+                public void message(String pattern, Object p0) {
+                    patterns.add(pattern);
+                }
+
+                @Override
+                public void message(String pattern, Object p0, Object p1, Object p2) {
+                    patterns.add(pattern);
+                }
+
+                @Override
+                public void message(String pattern, Object p0, Object p1, Object p2, Object p3) {
+                    patterns.add(pattern);
+                }
+
+                @Override
+                public void write(CharSequence text) {
+                    patterns.add(text.toString());
+                }
+            });
+            run("nova");
+            String answer = run("auto");
+            assertTrue(answer.startsWith("Hits: "));
+            assertEquals("Computador dispara em {}", patterns.get(0));
+        }
+
+        @Test
+        void testParameters() {
+            assertAll(
+                    () -> assertEquals("Argumentos invalidos para nova!" + NL, run("nova barca 0")),
+                    () -> assertEquals("Falha na criacao de Barca n Linha = 0 Coluna = 1" + NL
+                            + "1 navios adicionados com sucesso!" + NL, run("nova barca 0 0 n barca 0 1 n")),
+                    () -> assertEquals("Mas... mas... Barcas nao sao a prova de bala? :-(" + NL
+                            + "Hits: 1 Inv: 0 Rep: 1 Restam 0 navios." + NL
+                            + "Maldito sejas, Java Sparrow, eu voltarei, glub glub glub..." + NL,
+                            run("rajada 0 0 0 0 5 5"))
+            );
+        }
+
+        @Test
+        void testGiveUp() {
+            CommandReader in = GameSession.newReader(
+                    new ByteArrayInputStream("desisto".getBytes(StandardCharsets.UTF_8)));
+            StringBuilder out = new StringBuilder();
+            assertFalse(session.execute(in, out));
+            assertEquals("Bons ventos!" + NL, out.toString());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Fleet Parsing Tests")
+    class FleetParsingTests {
+
+        private CommandReader reader(String text) {
+            return GameSession.newReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        void testStopsAtCommand() {
+            session = new GameSession(1, 1, GameSession.Mode.FLEETS);
+            CommandReader in = reader("nova barca 0 0 n\ncaravela 5 5 s\nestado\ndesisto");
+            StringBuilder out = new StringBuilder();
+            assertTrue(session.execute(in, out));
+            assertEquals("2 navios adicionados com sucesso!" + NL, out.toString());
+            assertEquals("estado", in.next());
+        }
+
+        @Test
+        void testStopsWhenFull() {
+            session = new GameSession(1, 1, GameSession.Mode.FLEETS);
+            StringBuilder ships = new StringBuilder("nova");
+            for (int i = 0; i < BoardSpec.DEFAULT.getFleetSize(); i++)
+                ships.append(" barca ").append(2 * (i / 5)).append(' ').append(2 * (i % 5)).append(" n");
+            CommandReader in = reader(ships + " barca 9 9 n");
+            StringBuilder out = new StringBuilder();
+            session.execute(in, out);
+            assertEquals(BoardSpec.DEFAULT.getFleetSize() + " navios adicionados com sucesso!" + NL, out.toString());
+            out.setLength(0);
+            session.execute(in, out);
+            assertEquals("Que comando é esse??? Repete lá ..." + NL, out.toString());
+        }
+
+        @Test
+        void testReportsAndSkips() {
+            session = new GameSession(1, 1, GameSession.Mode.FLEETS);
+            assertEquals("Navio desconhecido!" + NL
+                            + "Falha na criacao de Barca n Linha = 0 Coluna = 1" + NL
+                            + "1 navios adicionados com sucesso!" + NL,
+                    run("nova submarino 3 3 n barca 0 0 n barca 0 1 n"));
+        }
+
+        @Test
+        void testEndsWithInput() {
+            session = new GameSession(1, 1, GameSession.Mode.FLEETS);
+            assertEquals("0 navios adicionados com sucesso!" + NL, run("nova"));
+            assertEquals(0, session.getGame().getFleet().getShips().size());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameState")
+class GameStateTest {
+
+    Fleet fleet;
+    GameState initial;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new Fleet();
+        fleet.addShip(new Caravel(Compass.EAST, new Position(0, 0)));
+        fleet.addShip(new Barge(Compass.EAST, new Position(5, 5)));
+        fleet.addShip(new Barge(Compass.EAST, new Position(8, 8)));
+        initial = GameState.of(fleet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fleet = null;
+        initial = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Firing Tests")
+    class FiringTests {
+
+        @Test
+        void testInitialState() {
+            assertAll(
+                    () -> assertEquals(3, initial.getShipCount()),
+                    () -> assertEquals(3, initial.getRemainingShips()),
+                    () -> assertEquals(0, initial.getValidShots()),
+                    () -> assertFalse(initial.isFired(0, 0)),
+                    () -> assertEquals(BoardSpec.DEFAULT, initial.getBoardSpec())
+            );
+        }
+
+        @Test
+        void testOutcomes() {
+            GameState s = initial.fire(0, 0);
+            assertEquals(ShotOutcome.HIT.code(0), s.getLastOutcome());
+            assertTrue(s.isHit(0, 0));
+            assertEquals(1, s.getDamage(0));
+
+            s = s.fire(5, 5);
+            assertEquals(ShotOutcome.SUNK.code(1), s.getLastOutcome());
+            assertTrue(s.isSunk(1));
+            assertEquals(2, s.getRemainingShips());
+
+            s = s.fire(3, 3);
+            assertEquals(ShotOutcome.MISS.code(), s.getLastOutcome());
+            assertTrue(s.isFired(3, 3));
+            assertFalse(s.isHit(3, 3));
+
+            s = s.fire(3, 3);
+            assertEquals(ShotOutcome.REPEATED.code(), s.getLastOutcome());
+            s = s.fire(-1, 2);
+            assertEquals(ShotOutcome.INVALID.code(), s.getLastOutcome());
+
+            assertAll(
+                    () -> assertEquals(3, initial.fire(0, 0).fire(3, 3).fire(5, 5).getValidShots()),
+                    () -> assertEquals(2, initial.fire(0, 0).fire(5, 5).getHits())
+            );
+        }
+
+        @Test
+        void testAgreesWithGame() {
+            Fleet generated = new FleetGenerator(33L).nextFleet();
+            Game game = new Game(generated);
+            GameState state = GameState.of(generated);
+            for (int r = -1; r <= Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c <= Fleet.BOARD_SIZE; c++) {
+                    IPosition pos = IPosition.of(r, c);
+                    assertEquals(game.fireAt(pos), state.fire(pos).getLastOutcome(), pos.toString());
+                    state = state.fire(pos);
+                    if (r >= 0)
+                        assertEquals(game.fireAt(pos), state.fire(pos).getLastOutcome());
+                }
+            assertAll(
+                    () -> assertEquals(0, game.getRemainingShips()),
+                    () -> assertEquals(game.getHits(), game.getStats().getHits())
+            );
+            GameState last = state;
+            assertAll(
+                    () -> assertEquals(game.getRemainingShips(), last.getRemainingShips()),
+                    () -> assertEquals(game.getHits(), last.getHits()),
+                    () -> assertEquals(game.getSunkShips(), last.getSunkShips()),
+                    () -> assertEquals(game.getShots().size(), last.getValidShots())
+            );
+        }
+
+        @Test
+        void testReplay() {
+            List<IPosition> shots = List.of(IPosition.of(0, 0), IPosition.of(0, 1), IPosition.of(0, 2),
+                    IPosition.of(9, 9));
+            GameState s = GameState.replay(fleet, shots);
+            assertAll(
+                    () -> assertTrue(s.isSunk(0)),
+                    () -> assertEquals(ShotOutcome.MISS.code(), s.getLastOutcome()),
+                    () -> assertEquals(4, s.getValidShots()),
+                    () -> assertEquals(2, s.getRemainingShips())
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Persistence Tests")
+    class PersistenceTests {
+
+        @Test
+        void testOldStatesUnchanged() {
+            GameState hit = initial.fire(0, 0);
+            GameState missed = hit.fire(4, 4);
+            GameState sunk = hit.fire(0, 1).fire(0, 2);
+            assertAll(
+                    () -> assertFalse(initial.isFired(0, 0)),
+                    () -> assertEquals(0, initial.getDamage(0)),
+                    () -> assertEquals(1, hit.getDamage(0)),
+                    () -> assertFalse(hit.isFired(4, 4)),
+                    () -> assertTrue(missed.isFired(4, 4)),
+                    () -> assertFalse(missed.isFired(0, 1)),
+                    () -> assertEquals(1, missed.getDamage(0)),
+                    () -> assertTrue(sunk.isSunk(0)),
+                    () -> assertFalse(hit.isSunk(0)),
+                    () -> assertEquals(3, hit.getRemainingShips())
+            );
+        }
+
+        @Test
+        void testIndependentOfLaterFleetChanges() {
+            GameState s = initial.fire(0, 0);
+            new Game(fleet).fire(IPosition.of(0, 0));
+            assertEquals(ShotOutcome.HIT.code(0), GameState.of(fleet).fire(0, 0).getLastOutcome());
+            assertEquals(1, s.getDamage(0));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Board Size Tests")
+    class BoardSizeTests {
+
+        @Test
+        void testLargeBoard() {
+            BoardSpec spec = BoardSpec.square(1000, ShipType.GALLEON, ShipType.BARGE);
+            Fleet large = new FleetGenerator(spec, 5L).nextFleet();
+            GameState s = GameState.of(large);
+            for (IShip ship : large.getShips())
+                for (IPosition p : ship.getPositions())
+                    s = s.fire(p);
+            GameState end = s.fire(1000, 1000).fire(1001, 0);
+            assertAll(
+                    () -> assertEquals(0, end.getRemainingShips()),
+                    () -> assertEquals(2, end.getSunkShips()),
+                    () -> assertEquals(6, end.getHits()),
+                    () -> assertEquals(7, end.getValidShots()),
+                    () -> assertEquals(1, end.getInvalidShots()),
+                    () -> assertTrue(end.isFired(1000, 1000)),
+                    () -> assertFalse(end.isHit(1000, 1000))
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Read-only View Tests")
+    class ViewTests {
+
+        @Test
+        void testListsAreReadOnly() {
+            Game game = new Game(fleet);
+            game.fire(IPosition.of(0, 0));
+            IShip ship = fleet.getShips().get(0);
+            assertAll(
+                    () -> assertThrows(UnsupportedOperationException.class, () -> game.getShots().clear()),
+                    () -> assertThrows(UnsupportedOperationException.class, () -> fleet.getShips().remove(0)),
+                    () -> assertThrows(UnsupportedOperationException.class,
+                            () -> ship.getPositions().add(IPosition.of(1, 1))),
+                    () -> assertSame(game.getShots(), game.getShots()),
+                    () -> assertEquals(1, game.getShots().size())
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("PersistentBitSet Tests")
+    class BitSetTests {
+
+        @Test
+        void testSetAndShare() {
+            PersistentBitSet empty = PersistentBitSet.empty(1 << 20);
+            List<Integer> bits = new ArrayList<>(List.of(0, 63, 64, 511, 512, 70000, (1 << 20) - 1));
+            PersistentBitSet set = empty;
+            for (int bit : bits)
+                set = set.set(bit);
+            PersistentBitSet full = set;
+            for (int bit : bits) {
+                assertTrue(full.get(bit));
+                assertFalse(empty.get(bit));
+            }
+            assertFalse(full.get(1));
+            assertFalse(full.get(70001));
+            assertSame(full, full.set(511));
+        }
+
+        @Test
+        void testSmallSet() {
+            PersistentBitSet set = PersistentBitSet.empty(10).set(9);
+            assertTrue(set.get(9));
+            assertFalse(set.get(8));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for GameStats")
+class GameStatsTest {
+
+    Game game;
+
+    @BeforeEach
+    void setUp() {
+        Fleet fleet = new Fleet();
+        fleet.addShip(new Caravel(Compass.EAST, new Position(0, 0)));
+        fleet.addShip(new Barge(Compass.EAST, new Position(5, 5)));
+        fleet.addShip(new Barge(Compass.EAST, new Position(8, 8)));
+        game = new Game(fleet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        game = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Counting Tests")
+    class CountingTests {
+
+        @Test
+        void testTotalsAndBreakdown() {
+            game.fireSalvo(IPosition.of(0, 0), IPosition.of(5, 5), IPosition.of(8, 8), IPosition.of(3, 3),
+                    IPosition.of(3, 3), IPosition.of(-1, 2));
+            GameStats stats = game.getStats();
+            assertAll(
+                    () -> assertEquals(3, stats.getHits()),
+                    () -> assertEquals(2, stats.getSinks()),
+                    () -> assertEquals(1, stats.getMisses()),
+                    () -> assertEquals(1, stats.getInvalidShots()),
+                    () -> assertEquals(1, stats.getRepeatedShots()),
+                    () -> assertEquals(4, stats.getValidShots()),
+                    () -> assertEquals(1, stats.getHits(ShipType.CARAVEL)),
+                    () -> assertEquals(0, stats.getSinks(ShipType.CARAVEL)),
+                    () -> assertEquals(2, stats.getHits(ShipType.BARGE)),
+                    () -> assertEquals(2, stats.getSinks(ShipType.BARGE)),
+                    () -> assertEquals(0, stats.getHits(ShipType.GALLEON))
+            );
+        }
+
+        @Test
+        void testAgreesWithGameGetters() {
+            for (int r = -1; r <= Fleet.BOARD_SIZE; r++)
+                for (int c = 0; c <= Fleet.BOARD_SIZE; c++)
+                    game.fire(IPosition.of(r, c));
+            GameStats stats = game.getStats();
+            assertEquals(game.getHits(), stats.getHits());
+            assertEquals(game.getSunkShips(), stats.getSinks());
+            assertEquals(game.getInvalidShots(), stats.getInvalidShots());
+            assertEquals(game.getRepeatedShots(), stats.getRepeatedShots());
+            assertEquals(game.getShots().size(), stats.getValidShots());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        void testSnapshotIsFrozen() {
+            game.fire(IPosition.of(0, 0));
+            GameStats before = game.getStats();
+            game.fire(IPosition.of(0, 1));
+            GameStats after = game.getStats();
+
+            assertEquals(1, before.getHits());
+            assertEquals(0, before.getSinks(ShipType.CARAVEL));
+            assertEquals(2, after.getHits());
+            assertEquals(1, after.getSinks(ShipType.CARAVEL));
+            assertNotEquals(before, after);
+            assertEquals(after, after.snapshot());
+            assertEquals(after.hashCode(), after.snapshot().hashCode());
+        }
+    }
+}
@@ -55,7 +55,9 @@ class GameTest {
             String name = method.getName();
             if (name.equals("shipAt")) return shipAtFunc.apply((IPosition) args[0]);
             if (name.equals("getFloatingShips")) return floatingShipsSupplier.get();
+            if (name.equals("getFloatingCount")) return floatingShipsSupplier.get().size();
             if (name.equals("getShips")) return shipsSupplier.get();
+            if (name.equals("getBoardSpec")) return BoardSpec.DEFAULT;
 
             Class<?> rt = method.getReturnType();
             if (rt.isPrimitive()) {
@@ -308,6 +310,99 @@ class GameTest {
 
             assertFalse(invokePrivateRepeatedShot(game, p3));
         }
+
+        @Test
+        void repeatedOnBoundaryCells() throws Exception {
+            IPosition corner = createPosition(Fleet.BOARD_SIZE, Fleet.BOARD_SIZE);
+            IPosition edge = createPosition(0, Fleet.BOARD_SIZE);
+
+            game.fire(corner);
+            assertTrue(invokePrivateRepeatedShot(game, createPosition(Fleet.BOARD_SIZE, Fleet.BOARD_SIZE)));
+            assertFalse(invokePrivateRepeatedShot(game, edge));
+            assertFalse(invokePrivateRepeatedShot(game, createPosition(1, 0)));
+        }
+
+        @Test
+        void wholeBoardKeepsFiringOrder() {
+            List<IPosition> fired = new ArrayList<>();
+            for (int r = Fleet.BOARD_SIZE; r >= 0; r--)
+                for (int c = 0; c <= Fleet.BOARD_SIZE; c++) {
+                    IPosition p = createPosition(r, c);
+                    fired.add(p);
+                    game.fire(p);
+                }
+            for (IPosition p : fired)
+                game.fire(createPosition(p.getRow(), p.getColumn()));
+
+            assertEquals(fired, game.getShots());
+            assertEquals(fired.size(), game.getRepeatedShots());
+        }
+    }
+
+    // -----------------------------------------------------------
+    @Nested
+    @DisplayName("fireSalvo() Tests")
+    class SalvoTests {
+
+        private Game realGame() {
+            Fleet fleet = new Fleet();
+            fleet.addShip(new Caravel(Compass.EAST, new Position(0, 0)));
+            fleet.addShip(new Barge(Compass.EAST, new Position(5, 5)));
+            return new Game(fleet);
+        }
+
+        @Test
+        void salvoCountsEveryOutcome() {
+            Game g = realGame();
+            SalvoResult result = g.fireSalvo(IPosition.of(0, 0), IPosition.of(5, 5), IPosition.of(-1, 0),
+                    IPosition.of(0, 0), IPosition.of(9, 9), IPosition.of(0, 1));
+
+            assertEquals(new SalvoResult(3, 2, 1, 1), result);
+            assertAll(
+                    () -> assertEquals(3, g.getHits()),
+                    () -> assertEquals(2, g.getSunkShips()),
+                    () -> assertEquals(1, g.getInvalidShots()),
+                    () -> assertEquals(1, g.getRepeatedShots()),
+                    () -> assertEquals(4, g.getShots().size()),
+                    () -> assertEquals(0, g.getRemainingShips())
+            );
+        }
+
+        @Test
+        void salvoMatchesSingleShots() {
+            IPosition[] salvo = {IPosition.of(0, 1), IPosition.of(3, 3), IPosition.of(0, 1), IPosition.of(10, 10),
+                    IPosition.of(11, 0), IPosition.of(0, 0)};
+            Game bySalvo = realGame();
+            Game byShot = realGame();
+            bySalvo.fireSalvo(salvo);
+            for (IPosition p : salvo)
+                byShot.fire(p);
+
+            assertEquals(byShot.getShots(), bySalvo.getShots());
+            assertEquals(byShot.getHits(), bySalvo.getHits());
+            assertEquals(byShot.getSunkShips(), bySalvo.getSunkShips());
+            assertEquals(byShot.getInvalidShots(), bySalvo.getInvalidShots());
+            assertEquals(byShot.getRepeatedShots(), bySalvo.getRepeatedShots());
+        }
+
+        @Test
+        void maskSalvo() {
+            Game g = realGame();
+            BoardSpec spec = BoardSpec.DEFAULT;
+            long[] mask = new long[spec.getWords() + 1];
+            for (int cell : new int[]{spec.index(0, 0), spec.index(0, 1), spec.index(9, 9), 100, 130}) {
+                mask[cell >>> 6] |= 1L << cell;
+            }
+            assertEquals(new SalvoResult(2, 1, 2, 0), g.fireSalvo(mask));
+            assertEquals(List.of(IPosition.of(0, 0), IPosition.of(0, 1), IPosition.of(9, 9)), g.getShots());
+            assertEquals(new SalvoResult(0, 0, 1, 3), g.fireSalvo(Arrays.copyOf(mask, 2)));
+        }
+
+        @Test
+        void emptySalvo() {
+            assertEquals(SalvoResult.EMPTY, game.fireSalvo());
+            assertEquals(SalvoResult.EMPTY, game.fireSalvo(new long[0]));
+        }
     }
 
     // -----------------------------------------------------------
@@ -357,15 +452,11 @@ class GameTest {
     // Ensure internal mutable fields are initialized
     private void ensureInitialized(Game g) {
         try {
-            for (String field : List.of(
-                    "countHits", "countSinks", "countInvalidShots", "countRepeatedShots", "shots")) {
+            for (String field : List.of("stats", "shots")) {
 
                 Field f = Game.class.getDeclaredField(field);
                 f.setAccessible(true);
-                if (f.get(g) == null) {
-                    if (field.equals("shots")) f.set(g, new ArrayList<IPosition>());
-                    else f.set(g, 0);
-                }
+                assertNotNull(f.get(g), field);
             }
         } catch (Exception e) {
             throw new RuntimeException("Initialization failed", e);
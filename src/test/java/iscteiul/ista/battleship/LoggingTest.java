@@ -0,0 +1,159 @@
+package iscteiul.ista.battleship;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for Logging")
+class LoggingTest {
+
+    String batch;
+
+    @BeforeEach
+    void setUp() {
+        batch = System.getProperty(Logging.BATCH_PROPERTY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batch == null)
+            System.clearProperty(Logging.BATCH_PROPERTY);
+        else
+            System.setProperty(Logging.BATCH_PROPERTY, batch);
+        Logging.setShotLogging(true);
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Mode Tests")
+    class ModeTests {
+
+        @Test
+        void testBatchProperty() {
+            System.setProperty(Logging.BATCH_PROPERTY, "true");
+            assertTrue(Logging.isBatch());
+            System.setProperty(Logging.BATCH_PROPERTY, "false");
+            assertFalse(Logging.isBatch());
+        }
+
+        @Test
+        void testShotLoggingSwitch() {
+            Logging.setShotLogging(false);
+            assertFalse(Logging.shotLogger().isInfoEnabled());
+            Logging.setShotLogging(true);
+            assertTrue(Logging.shotLogger().isInfoEnabled());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Batch Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        void testBatchConfiguration() throws Exception {
+            LoggerContext context = new LoggerContext("batch");
+            ConfigurationSource source = ConfigurationSource.fromResource(Logging.BATCH_CONFIGURATION,
+                    getClass().getClassLoader());
+            assertNotNull(source);
+            Configuration configuration = ConfigurationFactory.getInstance().getConfiguration(context, source);
+            configuration.initialize();
+            assertAll(
+                    () -> assertInstanceOf(AsyncLoggerConfig.class, configuration.getRootLogger()),
+                    () -> assertEquals(Level.INFO, configuration.getRootLogger().getLevel()),
+                    () -> assertEquals(Level.OFF, configuration.getLoggerConfig(Logging.SHOTS).getLevel()),
+                    () -> assertFalse(configuration.getRootLogger().isIncludeLocation())
+            );
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Output Order Tests")
+    class OrderTests {
+
+        private Configuration batchConfiguration(LoggerContext context) throws Exception {
+            ConfigurationSource source = ConfigurationSource.fromResource(Logging.BATCH_CONFIGURATION,
+                    getClass().getClassLoader());
+            return ConfigurationFactory.getInstance().getConfiguration(context, source);
+        }
+
+        @Test
+        void testScriptedSession() throws Exception {
+            System.setProperty(Logging.BATCH_PROPERTY, "true");
+            String script = "nova galeao 0 0 n\nbarca 9 9 n\nestado\nnova barca 5 5 n\nestado\ndesisto\n";
+            GameSession session = new GameSession(0, 1, GameSession.Mode.FLEETS);
+            CommandReader in = GameSession.newReader(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+
+            // what the background thread of the loggers writes while the session
+            // runs is held back, so anything printed by the session itself would
+            // come first
+            ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            ByteArrayOutputStream logged = new ByteArrayOutputStream();
+            Thread player = Thread.currentThread();
+            AtomicBoolean playing = new AtomicBoolean(true);
+            OutputStream out = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    if (Thread.currentThread() == player || !playing.get())
+                        printed.write(b, off, len);
+                    else
+                        logged.write(b, off, len);
+                }
+            };
+            PrintStream stdout = System.out;
+            LoggerContext context = new LoggerContext("scripted");
+            System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+            try {
+                context.start(batchConfiguration(context));
+                Tasks.play(session, in, context.getLogger(Tasks.class.getName()));
+                synchronized (out) {
+                    playing.set(false);
+                    printed.write(logged.toByteArray());
+                }
+                // waits for the background thread to write every event
+                context.stop();
+            } finally {
+                System.setOut(stdout);
+            }
+
+            List<String> lines = new ArrayList<>();
+            for (String line : printed.toString(StandardCharsets.UTF_8).split("\\R"))
+                lines.add(line.contains(" - ") ? line.substring(line.indexOf(" - ") + 3) : line);
+            // estado lists all the ships, those afloat, and those of each kind
+            assertEquals(List.of(
+                    "2 navios adicionados com sucesso!",
+                    "[Galeao n Linha = 0 Coluna = 0]",
+                    "[Barca n Linha = 9 Coluna = 9]",
+                    "[Galeao n Linha = 0 Coluna = 0]",
+                    "[Barca n Linha = 9 Coluna = 9]",
+                    "[Galeao n Linha = 0 Coluna = 0]",
+                    "[Barca n Linha = 9 Coluna = 9]",
+                    "1 navios adicionados com sucesso!",
+                    "[Barca n Linha = 5 Coluna = 5]",
+                    "[Barca n Linha = 5 Coluna = 5]",
+                    "[Barca n Linha = 5 Coluna = 5]",
+                    "Bons ventos!"), lines);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for PlacementTable")
+class PlacementTableTest {
+
+    PlacementTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = PlacementTable.getDefault();
+    }
+
+    @AfterEach
+    void tearDown() {
+        table = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Counting Tests")
+    class CountingTests {
+
+        @Test
+        void testDistinctPlacementCounts() {
+            int n = Fleet.BOARD_SIZE;
+            assertAll(
+                    () -> assertEquals(n * n, table.count(ShipType.BARGE)),
+                    () -> assertEquals(2 * n * (n - 1), table.count(ShipType.CARAVEL)),
+                    () -> assertEquals(2 * n * (n - 2), table.count(ShipType.CARRACK)),
+                    () -> assertEquals(2 * n * (n - 3), table.count(ShipType.FRIGATE)),
+                    () -> assertEquals(4 * (n - 2) * (n - 2), table.count(ShipType.GALLEON))
+            );
+        }
+
+        @Test
+        void testDefaultIsShared() {
+            assertSame(table, PlacementTable.getDefault());
+            assertEquals(2, table.getWords());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Placement Tests")
+    class PlacementTests {
+
+        @Test
+        void testCellsMatchBuiltShips() {
+            int[] cells = new int[ShipType.GALLEON.getSize()];
+            for (ShipType type : ShipType.values())
+                for (int i = 0; i < table.count(type); i++) {
+                    Ship s = table.build(type, i);
+                    assertTrue(s.getBoundingBox().isInside(Fleet.BOARD_SIZE, Fleet.BOARD_SIZE));
+                    table.cells(type, i, cells);
+                    Set<Integer> expected = new HashSet<>();
+                    Set<Integer> actual = new HashSet<>();
+                    for (IPosition p : s.getPositions())
+                        expected.add(BoardSpec.DEFAULT.index(p.getRow(), p.getColumn()));
+                    for (int k = 0; k < type.getSize(); k++)
+                        actual.add(cells[k]);
+                    assertEquals(expected, actual);
+                }
+        }
+
+        @Test
+        void testPlacementsAreDistinct() {
+            int[] cells = new int[ShipType.GALLEON.getSize()];
+            for (ShipType type : ShipType.values()) {
+                Set<Set<Integer>> seen = new HashSet<>();
+                for (int i = 0; i < table.count(type); i++) {
+                    table.cells(type, i, cells);
+                    Set<Integer> placement = new HashSet<>();
+                    for (int k = 0; k < type.getSize(); k++)
+                        placement.add(cells[k]);
+                    assertTrue(seen.add(placement), type + " " + i);
+                }
+            }
+        }
+
+        @Test
+        void testInvalidPlacementRejected() {
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> table.build(ShipType.BARGE, table.count(ShipType.BARGE)));
+        }
+
+        @Test
+        void testHaloForbidsNeighbours() {
+            long[] forbidden = new long[table.getWords()];
+            int corner = -1;
+            for (int i = 0; i < table.count(ShipType.BARGE); i++)
+                if (table.getAnchor(ShipType.BARGE, i) == BoardSpec.DEFAULT.index(0, 0))
+                    corner = i;
+            table.addHalo(ShipType.BARGE, corner, forbidden);
+
+            assertEquals(4, Long.bitCount(forbidden[0]) + Long.bitCount(forbidden[1]));
+            assertFalse(table.isFree(ShipType.BARGE, corner, forbidden));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Board Size Tests")
+    class BoardSizeTests {
+
+        @Test
+        void testRectangularBoardCounts() {
+            PlacementTable wide = new PlacementTable(new BoardSpec(4, 30, ShipType.BARGE));
+            assertAll(
+                    () -> assertEquals(4 * 30, wide.count(ShipType.BARGE)),
+                    () -> assertEquals(4 * 27 + 1 * 30, wide.count(ShipType.FRIGATE)),
+                    () -> assertEquals(4 * 2 * 28, wide.count(ShipType.GALLEON)),
+                    () -> assertEquals(2, wide.getWords())
+            );
+        }
+
+        @Test
+        void testTooSmallForShape() {
+            PlacementTable tiny = new PlacementTable(BoardSpec.square(2, ShipType.BARGE));
+            assertEquals(0, tiny.count(ShipType.GALLEON));
+            assertEquals(0, tiny.count(ShipType.CARRACK));
+            assertEquals(4, tiny.count(ShipType.CARAVEL));
+        }
+
+        @Test
+        void testLargeBoardDecoding() {
+            BoardSpec spec = BoardSpec.square(4096, ShipType.FRIGATE);
+            PlacementTable large = new PlacementTable(spec);
+            assertEquals(2 * 4096 * 4093, large.count(ShipType.FRIGATE));
+
+            int last = large.count(ShipType.FRIGATE) - 1;
+            Ship s = large.build(ShipType.FRIGATE, last);
+            assertTrue(s.getBoundingBox().isInside(spec.getHeight(), spec.getWidth()));
+            assertEquals(large.getAnchor(ShipType.FRIGATE, last),
+                    spec.index(s.getPosition().getRow(), s.getPosition().getColumn()));
+
+            long[] forbidden = new long[large.getWords()];
+            large.addHalo(ShipType.FRIGATE, last, forbidden);
+            assertFalse(large.isFree(ShipType.FRIGATE, last, forbidden));
+            assertTrue(large.isFree(ShipType.FRIGATE, 0, forbidden));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("ShipType Tests")
+    class ShipTypeTests {
+
+        @Test
+        void testBuildAndCategory() {
+            for (ShipType type : ShipType.values()) {
+                Ship s = type.build(Compass.NORTH, new Position(0, 0));
+                assertEquals(type.getSize(), s.getSize());
+                assertSame(type, ShipType.ofCategory(s.getCategory()));
+            }
+            assertNull(ShipType.ofCategory("Submarino"));
+        }
+    }
+}
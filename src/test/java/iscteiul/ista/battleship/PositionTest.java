@@ -6,6 +6,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 @DisplayName("JUnit 6 Nested Tests for Position (100% Branch Coverage)")
 class PositionTest {
 
@@ -51,18 +56,16 @@ class PositionTest {
         }
 
         @Test
-        @DisplayName("hashCode changes after occupy() or shoot()")
-        void testHashCodeChanges() {
+        @DisplayName("hashCode does not change after occupy() or shoot()")
+        void testHashCodeStable() {
             Position p = new Position(1, 1);
             int initial = p.hashCode();
 
             p.occupy();
-            int afterOccupy = p.hashCode();
-            assertNotEquals(initial, afterOccupy, "hashCode must change after occupy()");
+            assertEquals(initial, p.hashCode(), "hashCode must not change after occupy()");
 
             p.shoot();
-            int afterShoot = p.hashCode();
-            assertNotEquals(afterOccupy, afterShoot, "hashCode must change after shoot()");
+            assertEquals(initial, p.hashCode(), "hashCode must not change after shoot()");
         }
     }
 
@@ -101,6 +104,68 @@ class PositionTest {
         }
     }
 
+    /* ============================================================
+       GROUP 3b — HASH COLLECTIONS (regression: hash must ignore state)
+    ============================================================ */
+    @Nested
+    @DisplayName("Hash collection tests")
+    class HashCollectionTests {
+
+        @Test
+        @DisplayName("Position stays in a HashSet after shoot() and occupy()")
+        void testHashSetSurvivesShoot() {
+            Position p = new Position(3, 7);
+            Set<IPosition> set = new HashSet<>();
+            set.add(p);
+
+            p.shoot();
+            assertTrue(set.contains(p));
+            p.occupy();
+            assertTrue(set.contains(p));
+            assertTrue(set.remove(p));
+            assertTrue(set.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Shot and fresh positions with the same coordinates are the same key")
+        void testHashSetShotVersusFresh() {
+            Position shot = new Position(4, 4);
+            shot.shoot();
+            Set<IPosition> set = new HashSet<>();
+            set.add(new Position(4, 4));
+
+            assertTrue(set.contains(shot));
+            assertFalse(set.add(shot));
+            assertEquals(1, set.size());
+        }
+
+        @Test
+        @DisplayName("HashMap lookups work across Position and Coordinate")
+        void testHashMapAcrossImplementations() {
+            Map<IPosition, String> map = new HashMap<>();
+            Position p = new Position(2, 5);
+            map.put(p, "navio");
+            p.shoot();
+
+            assertEquals("navio", map.get(Coordinate.of(2, 5)));
+            assertEquals(p.hashCode(), Coordinate.of(2, 5).hashCode());
+            assertNull(map.get(Coordinate.of(5, 2)));
+        }
+
+        @Test
+        @DisplayName("hashCode is a perfect hash over the board and its neighbourhood")
+        void testPerfectHash() {
+            Set<Integer> hashes = new HashSet<>();
+            int cells = 0;
+            for (int r = -Fleet.BOARD_SIZE; r <= 2 * Fleet.BOARD_SIZE; r++)
+                for (int c = -Fleet.BOARD_SIZE; c <= 2 * Fleet.BOARD_SIZE; c++) {
+                    hashes.add(new Position(r, c).hashCode());
+                    cells++;
+                }
+            assertEquals(cells, hashes.size());
+        }
+    }
+
     /* ============================================================
        GROUP 4 — ADJACENCY TESTS
     ============================================================ */
@@ -0,0 +1,139 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for SessionEngine")
+class SessionEngineTest {
+    private static final String NL = System.lineSeparator();
+
+    List<String> writes;
+
+    @BeforeEach
+    void setUp() {
+        writes = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writes = null;
+    }
+
+    private void run(GameSession session, String input) {
+        SessionEngine.run(session, GameSession.newReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+                text -> writes.add(text.toString()));
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Loop Tests")
+    class LoopTests {
+
+        @Test
+        void testBattle() {
+            GameSession session = new GameSession(1, 2);
+            run(session, "estado\nnova barca 0 0 n\nrajada 0 0 1 1 2 2\nver\ndesisto\nestado\n");
+            assertAll(
+                    () -> assertEquals(4, writes.size()),
+                    () -> assertEquals("1 navios adicionados com sucesso!" + NL, writes.get(0)),
+                    () -> assertTrue(writes.get(1).endsWith("glub glub glub..." + NL)),
+                    () -> assertEquals("Bons ventos!" + NL, writes.get(3)),
+                    () -> assertEquals(5, session.getCommands())
+            );
+        }
+
+        @Test
+        void testEndOfInput() {
+            GameSession session = new GameSession(1, 2, GameSession.Mode.FLEETS);
+            run(session, "nova fragata 0 0 s\nauto");
+            assertEquals(List.of("1 navios adicionados com sucesso!" + NL, "Que comando é esse??? Repete lá ..." + NL),
+                    writes);
+        }
+
+        @Test
+        void testFullFleetEndsNova() {
+            GameSession session = new GameSession(1, 2, GameSession.Mode.CHEATING);
+            StringBuilder ships = new StringBuilder("nova");
+            for (int i = 0; i < BoardSpec.DEFAULT.getFleetSize(); i++)
+                ships.append(" barca ").append(i / 5 * 2).append(' ').append(i % 5 * 2).append(" n");
+            run(session, ships + " estado\n");
+            assertEquals(2, writes.size());
+            assertTrue(writes.get(1).startsWith(session.getGame().getFleet().getShips().get(0) + NL));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Thread Tests")
+    class ThreadTests {
+
+        @Test
+        void testVirtualThreads() {
+            boolean java21 = Runtime.version().feature() >= 21;
+            assertEquals(java21, SessionEngine.isVirtualAvailable());
+            assertEquals(java21, new SessionEngine().isVirtual());
+            assertFalse(new SessionEngine(Thread::new).isVirtual());
+        }
+
+        @Test
+        void testManyBlockedSessions() throws IOException, InterruptedException, ExecutionException,
+                TimeoutException {
+            int count = 500;
+            List<PipedOutputStream> inputs = new ArrayList<>();
+            List<ByteArrayOutputStream> outputs = new ArrayList<>();
+            List<CompletableFuture<GameSession>> sessions = new ArrayList<>();
+            try (SessionEngine engine = new SessionEngine()) {
+                for (int i = 0; i < count; i++) {
+                    PipedOutputStream input = new PipedOutputStream();
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    inputs.add(input);
+                    outputs.add(output);
+                    sessions.add(engine.start(new GameSession(i, i), new PipedInputStream(input), output));
+                }
+                assertEquals(count, engine.getActiveSessions());
+                for (PipedOutputStream input : inputs) {
+                    input.write("nova\nauto\ndesisto\n".getBytes(StandardCharsets.UTF_8));
+                    input.flush();
+                }
+                for (int i = 0; i < count; i++) {
+                    GameSession session = sessions.get(i).get(30, TimeUnit.SECONDS);
+                    assertEquals(3, session.getCommands());
+                    assertEquals(3, session.getGame().getShots().size());
+                    assertTrue(outputs.get(i).toString(StandardCharsets.UTF_8).endsWith("Bons ventos!" + NL));
+                }
+                for (int i = 0; i < 500 && engine.getActiveSessions() > 0; i++)
+                    Thread.sleep(10);
+                assertEquals(0, engine.getActiveSessions());
+            } finally {
+                for (PipedOutputStream input : inputs)
+                    input.close();
+            }
+        }
+
+        @Test
+        void testCloseEndsSessions() throws IOException {
+            PipedOutputStream input = new PipedOutputStream();
+            CompletableFuture<GameSession> session;
+            try (SessionEngine engine = new SessionEngine()) {
+                session = engine.start(new GameSession(0, 0), new PipedInputStream(input), new ByteArrayOutputStream());
+                assertEquals(1, engine.getActiveSessions());
+            }
+            assertThrows(ExecutionException.class, () -> session.get(30, TimeUnit.SECONDS));
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for ShapeTable")
+class ShapeTableTest {
+
+    private static final Compass[] BEARINGS = {Compass.NORTH, Compass.SOUTH, Compass.EAST, Compass.WEST};
+
+    // ======================================================
+    @Nested
+    @DisplayName("Shape Tests")
+    class ShapeTests {
+
+        @Test
+        void testEveryTypeHasAShapePerBearing() {
+            for (ShipType type : ShipType.values()) {
+                for (Compass bearing : BEARINGS) {
+                    assertTrue(ShapeTable.hasShape(type, bearing));
+                    assertEquals(type.getSize(), ShapeTable.rows(type, bearing).length);
+                    assertEquals(type.getSize(), ShapeTable.columns(type, bearing).length);
+                }
+                assertFalse(ShapeTable.hasShape(type, Compass.UNKNOWN));
+            }
+        }
+
+        @Test
+        void testCellsAreDistinctAndIncludeAnchor() {
+            for (ShipType type : ShipType.values())
+                for (Compass bearing : BEARINGS) {
+                    Set<IPosition> cells = new HashSet<>();
+                    for (int i = 0; i < type.getSize(); i++)
+                        cells.add(IPosition.of(ShapeTable.rows(type, bearing)[i],
+                                ShapeTable.columns(type, bearing)[i]));
+                    assertEquals(type.getSize(), cells.size());
+                    assertTrue(cells.contains(IPosition.of(0, 0)), type + " " + bearing);
+                }
+        }
+
+        @Test
+        void testShipsFollowTheTable() {
+            for (ShipType type : ShipType.values())
+                for (Compass bearing : BEARINGS) {
+                    Ship s = type.build(bearing, new Position(4, 5));
+                    for (int i = 0; i < type.getSize(); i++) {
+                        assertEquals(4 + ShapeTable.rows(type, bearing)[i], s.getPositions().get(i).getRow());
+                        assertEquals(5 + ShapeTable.columns(type, bearing)[i], s.getPositions().get(i).getColumn());
+                    }
+                }
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Unknown Bearing Tests")
+    class UnknownBearingTests {
+
+        @Test
+        void testUnknownBearing() {
+            Position pos = new Position(2, 2);
+            assertAll(
+                    () -> assertThrows(IllegalArgumentException.class, () -> new Galleon(Compass.UNKNOWN, pos)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> new Carrack(Compass.UNKNOWN, pos)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> new Caravel(Compass.UNKNOWN, pos)),
+                    () -> assertTrue(new Frigate(Compass.UNKNOWN, pos).getPositions().isEmpty()),
+                    () -> assertEquals(1, new Barge(Compass.UNKNOWN, pos).getPositions().size())
+            );
+        }
+    }
+}
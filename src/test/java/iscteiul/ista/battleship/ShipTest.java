@@ -124,6 +124,19 @@ class ShipTest {
             s.getPositions().get(0).shoot();
             assertTrue(s.stillFloating());
         }
+
+        @Test
+        void remainingHitPointsCountDistinctHits() {
+            Ship s = createShipAt(5, 5, Compass.EAST, 3);
+            assertEquals(3, s.getRemainingHitPoints());
+            s.shoot(new TestPosition(5, 6));
+            s.shoot(new TestPosition(5, 6));
+            assertEquals(2, s.getRemainingHitPoints());
+            s.shoot(new TestPosition(5, 5));
+            s.shoot(new TestPosition(5, 7));
+            assertEquals(0, s.getRemainingHitPoints());
+            assertFalse(s.stillFloating());
+        }
     }
 
 
@@ -167,6 +180,57 @@ class ShipTest {
     }
 
 
+    /* =============================================================
+       BOUNDING BOX TESTS
+    ============================================================= */
+    @Nested @DisplayName("Bounding box tests")
+    class BoundingBoxTests {
+
+        @Test
+        void boundingBoxMatchesExtremes() {
+            Ship g = new Galleon(Compass.EAST, new Position(4, 4));
+            BoundingBox box = g.getBoundingBox();
+            assertEquals(new BoundingBox(4, 6, 2, 4), box);
+            assertEquals(box.top(), g.getTopMostPos());
+            assertEquals(box.bottom(), g.getBottomMostPos());
+            assertEquals(box.left(), g.getLeftMostPos());
+            assertEquals(box.right(), g.getRightMostPos());
+        }
+
+        @Test
+        void boundingBoxIsComputedOnce() {
+            Ship s = createShipAt(5, 5, Compass.SOUTH, 2);
+            assertSame(s.getBoundingBox(), s.getBoundingBox());
+        }
+
+        @Test
+        void boundingBoxInsideBoard() {
+            assertTrue(new BoundingBox(0, 9, 0, 9).isInside(10, 10));
+            assertFalse(new BoundingBox(0, 10, 0, 9).isInside(10, 10));
+            assertFalse(new BoundingBox(-1, 3, 0, 9).isInside(10, 10));
+            assertFalse(new BoundingBox(0, 3, 0, 10).isInside(10, 10));
+        }
+
+        @Test
+        void boundingBoxTouches() {
+            BoundingBox box = new BoundingBox(3, 4, 3, 5);
+            assertTrue(box.touches(new BoundingBox(5, 5, 6, 6)));
+            assertTrue(box.touches(new BoundingBox(0, 2, 0, 2)));
+            assertFalse(box.touches(new BoundingBox(6, 6, 3, 3)));
+            assertFalse(box.touches(new BoundingBox(3, 3, 7, 9)));
+        }
+
+        @Test
+        void farShipsRejectedByBoundingBox() {
+            Ship a = new Frigate(Compass.EAST, new Position(0, 0));
+            Ship b = new Frigate(Compass.EAST, new Position(2, 0));
+            Ship c = new Frigate(Compass.EAST, new Position(1, 4));
+            assertFalse(a.tooCloseTo(b));
+            assertTrue(a.tooCloseTo(c));
+        }
+    }
+
+
     /* =============================================================
        OCCUPIES TESTS
     ============================================================= */
@@ -0,0 +1,67 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for ShotOutcome")
+class ShotOutcomeTest {
+
+    // ======================================================
+    @Nested
+    @DisplayName("Coding Tests")
+    class CodingTests {
+
+        @Test
+        void testRoundTrip() {
+            for (ShotOutcome outcome : ShotOutcome.values())
+                for (int index : new int[]{-1, 0, 1, 9, 65535, 1 << 20}) {
+                    int code = outcome.code(index);
+                    assertSame(outcome, ShotOutcome.of(code));
+                    assertEquals(index, ShotOutcome.shipIndex(code));
+                }
+        }
+
+        @Test
+        void testCodeWithoutShip() {
+            assertEquals(-1, ShotOutcome.shipIndex(ShotOutcome.MISS.code()));
+            assertFalse(ShotOutcome.isHit(ShotOutcome.MISS.code()));
+            assertFalse(ShotOutcome.isHit(ShotOutcome.REPEATED.code()));
+            assertTrue(ShotOutcome.isHit(ShotOutcome.HIT.code(3)));
+            assertTrue(ShotOutcome.isHit(ShotOutcome.SUNK.code(0)));
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("fireAt Tests")
+    class FireAtTests {
+
+        @Test
+        void testEveryOutcome() {
+            for (Fleet fleet : new Fleet[]{new Fleet(), new BitboardFleet()}) {
+                fleet.addShip(new Barge(Compass.EAST, new Position(0, 0)));
+                fleet.addShip(new Caravel(Compass.EAST, new Position(4, 4)));
+                Game game = new Game(fleet);
+
+                int hit = game.fireAt(IPosition.of(4, 5));
+                assertSame(ShotOutcome.HIT, ShotOutcome.of(hit));
+                assertEquals(1, ShotOutcome.shipIndex(hit));
+
+                int sunk = game.fireAt(IPosition.of(0, 0));
+                assertSame(ShotOutcome.SUNK, ShotOutcome.of(sunk));
+                assertEquals(0, ShotOutcome.shipIndex(sunk));
+
+                assertSame(ShotOutcome.MISS, ShotOutcome.of(game.fireAt(IPosition.of(9, 9))));
+                assertSame(ShotOutcome.REPEATED, ShotOutcome.of(game.fireAt(IPosition.of(9, 9))));
+                assertSame(ShotOutcome.INVALID, ShotOutcome.of(game.fireAt(IPosition.of(-1, 3))));
+                assertAll(
+                        () -> assertEquals(2, game.getHits()),
+                        () -> assertEquals(1, game.getSunkShips()),
+                        () -> assertEquals(1, game.getRepeatedShots()),
+                        () -> assertEquals(1, game.getInvalidShots())
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package iscteiul.ista.battleship;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JUnit 6 Tests for Simulator")
+class SimulatorTest {
+
+    private static final int SHIP_CELLS = 24;
+
+    Simulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        simulator = new Simulator(RandomStrategy::new);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator = null;
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Single Game Tests")
+    class PlayTests {
+
+        @Test
+        void testRandomStrategyAlwaysWins() {
+            SimulationReport report = simulator.play(3L);
+            assertAll(
+                    () -> assertEquals(1, report.getGames()),
+                    () -> assertEquals(1, report.getGamesWon()),
+                    () -> assertEquals(SHIP_CELLS, report.getHits()),
+                    () -> assertEquals((long) IFleet.FLEET_SIZE, report.getSunkShips()),
+                    () -> assertEquals(0, report.getRepeatedShots()),
+                    () -> assertEquals(0, report.getInvalidShots()),
+                    () -> assertTrue(report.getMinShots() >= SHIP_CELLS),
+                    () -> assertTrue(report.getMaxShots() <= Fleet.BOARD_SIZE * Fleet.BOARD_SIZE)
+            );
+        }
+
+        @Test
+        void testShotLimit() {
+            Simulator stubborn = new Simulator(seed -> new ShootingStrategy() {
+                @Override
+                public IPosition nextShot() {
+                    return IPosition.of(0, 0);
+                }
+
+                @Override
+                public void shotResult(IPosition shot, boolean hit, IShip sunk) {
+                }
+            });
+            SimulationReport report = stubborn.play(5L);
+            assertEquals(0, report.getGamesWon());
+            assertEquals(4 * Fleet.BOARD_SIZE * Fleet.BOARD_SIZE, report.getMaxShots());
+            assertEquals(report.getMaxShots() - 1, report.getRepeatedShots());
+        }
+    }
+
+    // ======================================================
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        @Test
+        void testBatchTotals() {
+            SimulationReport report = simulator.run(300, 11L);
+            assertEquals(300, report.getGames());
+            assertEquals(300, report.getGamesWon());
+            assertEquals(300L * SHIP_CELLS, report.getHits());
+            assertEquals(300L * IFleet.FLEET_SIZE, report.getSunkShips());
+
+            long games = 0;
+            long shots = 0;
+            long[] histogram = report.getShotsHistogram();
+            for (int i = 0; i < histogram.length; i++) {
+                games += histogram[i];
+                shots += i * histogram[i];
+            }
+            assertEquals(report.getGames(), games);
+            assertEquals(report.getTotalShots(), shots);
+            assertEquals((double) shots / games, report.getMeanShots(), 1e-9);
+        }
+
+        @Test
+        void testSameReportWhateverTheParallelism() {
+            ForkJoinPool single = new ForkJoinPool(1);
+            ForkJoinPool many = new ForkJoinPool(4);
+            try {
+                SimulationReport a = new Simulator(RandomStrategy::new, single).run(500, 99L);
+                SimulationReport b = new Simulator(RandomStrategy::new, many).run(500, 99L);
+                assertEquals(a, b);
+                assertEquals(a.toString(), b.toString());
+            } finally {
+                single.shutdown();
+                many.shutdown();
+            }
+        }
+
+        @Test
+        void testMergeAddsUpGames() {
+            SimulationReport a = simulator.play(1L);
+            SimulationReport b = simulator.play(2L);
+            SimulationReport both = a.merge(b);
+            assertEquals(both, b.merge(a));
+            assertEquals(2, both.getGames());
+            assertEquals(a.getTotalShots() + b.getTotalShots(), both.getTotalShots());
+            assertEquals(Math.max(a.getMaxShots(), b.getMaxShots()) + 1, both.getShotsHistogram().length);
+            if (a.getMaxShots() == b.getMaxShots())
+                assertEquals(2, both.getGamesWithShots(a.getMaxShots()));
+            else
+                assertEquals(1, both.getGamesWithShots(a.getMaxShots()));
+            assertEquals(0, both.getGamesWithShots(0));
+            assertEquals(a, SimulationReport.EMPTY.merge(a));
+        }
+
+        @Test
+        void testEmptyBatch() {
+            SimulationReport report = simulator.run(0, 1L);
+            assertEquals(SimulationReport.EMPTY, report);
+            assertEquals(0, report.getMinShots());
+            assertEquals(0.0, report.getMeanShots());
+            assertThrows(IllegalArgumentException.class, () -> simulator.run(-1, 1L));
+        }
+    }
+}